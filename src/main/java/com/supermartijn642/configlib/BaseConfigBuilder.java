@@ -1,8 +1,13 @@
 package com.supermartijn642.configlib;
 
 import com.supermartijn642.configlib.api.IConfigBuilder;
+import com.supermartijn642.configlib.api.IConfigChangeListener;
+import com.supermartijn642.configlib.api.IConfigSnapshot;
 
+import java.lang.invoke.MethodHandle;
 import java.util.Stack;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 /**
  * Created 25/03/2022 by SuperMartijn642
@@ -117,4 +122,58 @@ public abstract class BaseConfigBuilder<S> extends ConfigBuilder<S> implements I
         this.comment = comment;
         return this;
     }
+
+    @Override
+    public IConfigBuilder onChange(IConfigChangeListener listener){
+        if(listener == null)
+            throw new IllegalArgumentException("Listener must not be null!");
+
+        this.addListener(null, listener);
+        return this;
+    }
+
+    @Override
+    public IConfigBuilder onChange(Object entry, IConfigChangeListener listener){
+        if(entry == null)
+            throw new IllegalArgumentException("Entry must not be null!");
+        if(listener == null)
+            throw new IllegalArgumentException("Listener must not be null!");
+
+        this.addListener(entry, listener);
+        return this;
+    }
+
+    @Override
+    public IConfigBuilder listenerExecutor(Executor executor){
+        if(executor == null)
+            throw new IllegalArgumentException("Executor must not be null!");
+
+        this.setListenerExecutor(executor);
+        return this;
+    }
+
+    @Override
+    public IConfigBuilder liveReload(){
+        this.enableLiveReload();
+        return this;
+    }
+
+    @Override
+    public IConfigBuilder lazyInitialization(){
+        this.enableLazyInitialization();
+        return this;
+    }
+
+    @Override
+    public MethodHandle constantHandle(Object entry){
+        if(entry == null)
+            throw new IllegalArgumentException("Entry must not be null!");
+
+        return this.getConstantHandle(entry);
+    }
+
+    @Override
+    public Supplier<IConfigSnapshot> snapshot(){
+        return this::getSnapshot;
+    }
 }
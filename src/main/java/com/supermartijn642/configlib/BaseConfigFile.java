@@ -0,0 +1,465 @@
+package com.supermartijn642.configlib;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * Renders config files in memory and only writes them to disk when their content changed.
+ * <p>
+ * Created 17/10/2026 by agent
+ */
+public abstract class BaseConfigFile<S> implements ConfigFile<S> {
+
+    /**
+     * Files larger than this are memory-mapped rather than copied into a buffer.
+     * Mapping is skipped on Windows, as mapped files cannot be written to until the mapping is garbage collected.
+     */
+    private static final long MAPPING_THRESHOLD = 1024 * 1024;
+    private static final boolean CAN_MAP_FILES = !System.getProperty("os.name", "").startsWith("Windows");
+
+    /**
+     * How far writes are flushed to disk before they are considered complete, set through the 'configlib.durability' system property
+     */
+    private static final Durability DURABILITY = Durability.fromProperty(System.getProperty("configlib.durability"));
+
+    private static final AtomicInteger SKIPPED_WRITES = new AtomicInteger(), PERFORMED_WRITES = new AtomicInteger();
+    private static final AtomicInteger SUPPRESSED_RELOADS = new AtomicInteger(), PERFORMED_RELOADS = new AtomicInteger();
+
+    /**
+     * @return the number of config file writes which were skipped because the file's content did not change
+     */
+    public static int getSkippedWrites(){
+        return SKIPPED_WRITES.get();
+    }
+
+    /**
+     * @return the number of config file writes which actually wrote to disk
+     */
+    public static int getPerformedWrites(){
+        return PERFORMED_WRITES.get();
+    }
+
+    /**
+     * @return the number of file changes which did not cause the file to be read again, because its content was the same as what was last read or written
+     */
+    public static int getSuppressedReloads(){
+        return SUPPRESSED_RELOADS.get();
+    }
+
+    /**
+     * @return the number of file changes which caused the file to be read again
+     */
+    public static int getPerformedReloads(){
+        return PERFORMED_RELOADS.get();
+    }
+
+    protected final File file;
+    private boolean tracking = false;
+    /**
+     * State of the file when it was last read or written, or {@code null} if the file did not exist
+     */
+    private volatile FileState lastState;
+    private volatile ConfigTimings timings;
+
+    protected BaseConfigFile(File file){
+        this.file = file;
+    }
+
+    @Override
+    public void startTrackingFile(Runnable reloadListener){
+        if(this.tracking)
+            throw new IllegalStateException("Config file is already being tracked!");
+
+        // Read the file again whenever it changes
+        this.tracking = ConfigFileWatcher.watch(this.file, () -> {
+            if(this.reloadFile())
+                reloadListener.run();
+        });
+    }
+
+    /**
+     * Replaces the file's current contents with the given content
+     */
+    protected abstract void readContent(ByteBuffer content) throws IOException;
+
+    /**
+     * Passes the values in the given content to the given consumer, without storing them
+     */
+    protected abstract void readValues(ByteBuffer content, BiConsumer<String[],S> consumer) throws IOException;
+
+    /**
+     * Renders the file's current contents
+     */
+    protected abstract byte[] render() throws IOException;
+
+    /**
+     * @return a name for the file's format, used in error messages
+     */
+    protected abstract String getFormatName();
+
+    @Override
+    public void setTimings(ConfigTimings timings){
+        this.timings = timings;
+    }
+
+    /**
+     * Reads the file's content and records its state
+     */
+    private ByteBuffer readFileContent(FileChannel channel) throws IOException{
+        long start = System.nanoTime();
+        long modified = Files.getLastModifiedTime(this.file.toPath()).toMillis();
+        ByteBuffer content = readBytes(channel);
+        this.lastState = FileState.of(content, modified);
+
+        ConfigTimings timings = this.timings;
+        if(timings != null){
+            timings.addTime(ConfigTimings.Stage.READ, System.nanoTime() - start);
+            timings.addBytesRead(content.remaining());
+        }
+        return content;
+    }
+
+    @Override
+    public synchronized void readFile(){
+        this.read(false);
+    }
+
+    /**
+     * Reads the file after it was changed, unless its content is the same as when it was last read or written
+     * @return whether the file was read again
+     */
+    private synchronized boolean reloadFile(){
+        if(this.read(true)){
+            PERFORMED_RELOADS.incrementAndGet();
+            return true;
+        }
+        SUPPRESSED_RELOADS.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * @param onlyIfChanged whether to only read the file if its content changed, and to keep the current contents if the
+     *                      file fails to parse
+     * @return whether the file's contents were replaced
+     */
+    private boolean read(boolean onlyIfChanged){
+        // Use empty contents if the file doesn't exist
+        if(!this.file.exists() || this.file.isDirectory()){
+            if(onlyIfChanged && this.lastState == null)
+                return false;
+            this.lastState = null;
+            this.clearValues();
+            return true;
+        }
+
+        try(FileChannel channel = FileChannel.open(this.file.toPath(), StandardOpenOption.READ)){
+            long modified = Files.getLastModifiedTime(this.file.toPath()).toMillis();
+            ByteBuffer content = readBytes(channel);
+            FileState state = FileState.of(content, modified);
+            if(onlyIfChanged && state.equals(this.lastState))
+                return false;
+            this.lastState = state;
+            this.readContent(content);
+        }catch(Exception e){
+            if(onlyIfChanged){
+                // Keep the previous values, the file may be halfway through being saved
+                ConfigLib.LOGGER.error("Failed to read " + this.getFormatName() + " file '" + this.file.getPath() + "', keeping the previous values!", e);
+                return false;
+            }
+            ConfigLib.LOGGER.error("Failed to read " + this.getFormatName() + " file '" + this.file.getPath() + "'!", e);
+            this.clearValues();
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized boolean readValues(BiConsumer<String[],S> consumer){
+        // Nothing to read if the file doesn't exist
+        if(!this.file.exists() || this.file.isDirectory()){
+            this.lastState = null;
+            return true;
+        }
+
+        try(FileChannel channel = FileChannel.open(this.file.toPath(), StandardOpenOption.READ)){
+            ByteBuffer content = this.readFileContent(channel);
+
+            ConfigTimings timings = this.timings;
+            if(timings == null)
+                this.readValues(content, consumer);
+            else{
+                // Exclude the time spent by the consumer from the parsing time
+                long start = System.nanoTime();
+                long[] consumerTime = {0};
+                this.readValues(content, (path, value) -> {
+                    long consumerStart = System.nanoTime();
+                    consumer.accept(path, value);
+                    consumerTime[0] += System.nanoTime() - consumerStart;
+                });
+                timings.addTime(ConfigTimings.Stage.PARSE, System.nanoTime() - start - consumerTime[0]);
+            }
+            return true;
+        }catch(Exception e){
+            ConfigLib.LOGGER.error("Failed to read " + this.getFormatName() + " file '" + this.file.getPath() + "'!", e);
+            return false;
+        }
+    }
+
+    @Override
+    public synchronized long[] readFingerprint(long size, long modified){
+        if(!this.file.exists() || this.file.isDirectory()){
+            this.lastState = null;
+            return null;
+        }
+
+        try{
+            // Only hash the content if the file could still match, otherwise it will be read when parsing instead
+            BasicFileAttributes attributes = Files.readAttributes(this.file.toPath(), BasicFileAttributes.class);
+            if(attributes.size() != size || attributes.lastModifiedTime().toMillis() != modified)
+                return null;
+        }catch(Exception e){
+            return null;
+        }
+
+        try(FileChannel channel = FileChannel.open(this.file.toPath(), StandardOpenOption.READ)){
+            this.readFileContent(channel);
+            return this.getFingerprint();
+        }catch(Exception e){
+            ConfigLib.LOGGER.error("Failed to read " + this.getFormatName() + " file '" + this.file.getPath() + "'!", e);
+            return null;
+        }
+    }
+
+    @Override
+    public long[] getFingerprint(){
+        FileState state = this.lastState;
+        return state == null ? null : new long[]{state.size, state.modified, state.hash};
+    }
+
+    @Override
+    public synchronized void writeFile(){
+        ConfigTimings timings = this.timings;
+        long start = System.nanoTime();
+        byte[] content;
+        try{
+            content = this.render();
+        }catch(Exception e){
+            ConfigLib.LOGGER.error("Failed to write " + this.getFormatName() + " file '" + this.file.getPath() + "'!", e);
+            return;
+        }
+        if(timings != null){
+            long renderEnd = System.nanoTime();
+            timings.addTime(ConfigTimings.Stage.SERIALIZE, renderEnd - start);
+            start = renderEnd;
+        }
+        try{
+            this.writeContent(content);
+        }finally{
+            if(timings != null)
+                timings.addTime(ConfigTimings.Stage.WRITE, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Writes the given bytes to the given file, replacing its content
+     */
+    private static void writeBytes(Path file, byte[] content) throws IOException{
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)){
+            ByteBuffer buffer = ByteBuffer.wrap(content);
+            while(buffer.hasRemaining())
+                channel.write(buffer);
+            if(DURABILITY != Durability.NONE)
+                channel.force(true);
+        }
+    }
+
+    /**
+     * Moves the source file onto the target file, atomically if possible
+     * @return whether the target file was replaced, {@code false} if the file system doesn't allow the target to be replaced
+     */
+    private static boolean replaceFile(Path source, Path target) throws IOException{
+        try{
+            try{
+                Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }catch(AtomicMoveNotSupportedException e){
+                Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return true;
+        }catch(FileSystemException e){
+            return false;
+        }
+    }
+
+    private void writeContent(byte[] content){
+        // Don't touch the file if its content is the same
+        if(this.hasContent(content)){
+            SKIPPED_WRITES.incrementAndGet();
+            this.lastState = this.getState(content);
+            return;
+        }
+
+        // Create parent directory
+        if(!this.file.getParentFile().exists())
+            this.file.getParentFile().mkdirs();
+
+        Path target = this.file.toPath();
+        Path temporary = null;
+        try{
+            if(Files.isSymbolicLink(target)){
+                // Moving a file onto the link would replace the link itself, thus write to the file it points to instead
+                writeBytes(target, content);
+            }else{
+                // Write to a temporary file first, such that the config file is never left partially written
+                // Files.createTempFile is not used, as it restricts the file's permissions to the current user
+                temporary = target.resolveSibling(this.file.getName() + ".tmp");
+                writeBytes(temporary, content);
+                if(replaceFile(temporary, target))
+                    temporary = null;
+                else{
+                    // The file can't be replaced, for example when it is bind mounted by itself
+                    writeBytes(target, content);
+                }
+            }
+
+            if(DURABILITY == Durability.FILE_AND_DIRECTORY)
+                syncDirectory(target.getParent());
+            PERFORMED_WRITES.incrementAndGet();
+            this.lastState = this.getState(content);
+            ConfigTimings timings = this.timings;
+            if(timings != null)
+                timings.addBytesWritten(content.length);
+        }catch(Exception e){
+            ConfigLib.LOGGER.error("Failed to write " + this.getFormatName() + " file '" + this.file.getPath() + "'!", e);
+        }finally{
+            if(temporary != null){
+                try{
+                    Files.deleteIfExists(temporary);
+                }catch(IOException ignore){
+                }
+            }
+        }
+    }
+
+    private FileState getState(byte[] content){
+        try{
+            return FileState.of(ByteBuffer.wrap(content), Files.getLastModifiedTime(this.file.toPath()).toMillis());
+        }catch(IOException e){
+            return null;
+        }
+    }
+
+    /**
+     * Makes sure the directory entry for a moved file is persisted
+     */
+    private static void syncDirectory(Path directory){
+        try(FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)){
+            channel.force(true);
+        }catch(IOException ignore){
+            // Not all platforms allow opening directories, e.g. Windows
+        }
+    }
+
+    private boolean hasContent(byte[] content){
+        try(FileChannel channel = FileChannel.open(this.file.toPath(), StandardOpenOption.READ)){
+            // Only read the file if its size matches
+            if(channel.size() != content.length)
+                return false;
+            ByteBuffer existing = readBytes(channel);
+            return existing.equals(ByteBuffer.wrap(content));
+        }catch(NoSuchFileException e){
+            return false;
+        }catch(Exception e){
+            ConfigLib.LOGGER.warn("Failed to compare contents of " + this.getFormatName() + " file '" + this.file.getPath() + "'!", e);
+            return false;
+        }
+    }
+
+    protected static ByteBuffer readBytes(FileChannel channel) throws IOException{
+        long size = channel.size();
+        if(CAN_MAP_FILES && size >= MAPPING_THRESHOLD)
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+        ByteBuffer buffer = ByteBuffer.allocate((int)size);
+        while(buffer.hasRemaining()){
+            if(channel.read(buffer) == -1)
+                break;
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Identifies a version of a file's content
+     */
+    private static final class FileState {
+
+        private static FileState of(ByteBuffer content, long modified){
+            CRC32 checksum = new CRC32();
+            checksum.update(content.duplicate());
+            return new FileState(content.remaining(), modified, checksum.getValue());
+        }
+
+        private final long size;
+        private final long modified;
+        private final long hash;
+
+        private FileState(long size, long modified, long hash){
+            this.size = size;
+            this.modified = modified;
+            this.hash = hash;
+        }
+
+        /**
+         * Only compares the size and content hash, as the modification time may be changed without changing the content
+         */
+        @Override
+        public boolean equals(Object o){
+            if(this == o) return true;
+            if(o == null || this.getClass() != o.getClass()) return false;
+
+            FileState fileState = (FileState)o;
+
+            return this.size == fileState.size && this.hash == fileState.hash;
+        }
+
+        @Override
+        public int hashCode(){
+            return Long.hashCode(this.hash);
+        }
+    }
+
+    public enum Durability {
+        /**
+         * Don't wait for writes to reach the disk. Config files are still replaced atomically, thus they survive the game
+         * crashing or being killed, but not necessarily a power loss.
+         */
+        NONE,
+        /**
+         * Flush the file's content to disk before replacing the config file
+         */
+        FILE,
+        /**
+         * Flush the file's content to disk and also flush the directory after replacing the config file
+         */
+        FILE_AND_DIRECTORY;
+
+        private static Durability fromProperty(String property){
+            if(property == null)
+                return NONE;
+            try{
+                return valueOf(property.trim().toUpperCase(Locale.ROOT));
+            }catch(IllegalArgumentException e){
+                ConfigLib.LOGGER.warn("Unknown config durability '" + property + "', must be one of " + Arrays.toString(values()) + "!");
+                return NONE;
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.supermartijn642.configlib;
+
+import com.supermartijn642.configlib.api.DoubleListView;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Range checking and network encoding of {@code double} list entries, shared between all file formats
+ * <p>
+ * Created 17/10/2026 by agent
+ */
+public abstract class BaseDoubleListConfigEntry<S> extends BaseConfigEntry<DoubleListView,S> {
+
+    protected final double minimum, maximum;
+
+    public BaseDoubleListConfigEntry(DoubleListView defaultValue, double minimum, double maximum, boolean shouldBeSynced, boolean requiresGameRestart, boolean isClientOnly, boolean isServerOnly, String comment){
+        super(defaultValue, shouldBeSynced, requiresGameRestart, isClientOnly, isServerOnly, comment);
+        this.minimum = minimum;
+        this.maximum = maximum;
+    }
+
+    @Override
+    public String getAllowedValuesHint(){
+        return "Allowed range: " + this.minimum + " ~ " + this.maximum + " - Default: " + this.defaultValue;
+    }
+
+    @Override
+    public boolean validateValue(DoubleListView value){
+        for(int i = 0; i < value.size(); i++){
+            double element = value.getDouble(i);
+            if(!(element >= this.minimum && element <= this.maximum))
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public byte[] write(DoubleListView value){
+        ByteBuffer buffer = ByteBuffer.allocate(4 + value.size() * 8).putInt(value.size());
+        for(int i = 0; i < value.size(); i++)
+            buffer.putDouble(value.getDouble(i));
+        return buffer.array();
+    }
+
+    @Override
+    public DoubleListView read(ByteBuffer buffer){
+        int size = buffer.getInt();
+        if(size < 0 || size > buffer.remaining() / 8)
+            return null;
+        double[] values = new double[size];
+        for(int i = 0; i < size; i++)
+            values[i] = buffer.getDouble();
+        return DoubleListView.of(values);
+    }
+}
@@ -0,0 +1,55 @@
+package com.supermartijn642.configlib;
+
+import com.supermartijn642.configlib.api.IntListView;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Range checking and network encoding of {@code int} list entries, shared between all file formats
+ * <p>
+ * Created 17/10/2026 by agent
+ */
+public abstract class BaseIntListConfigEntry<S> extends BaseConfigEntry<IntListView,S> {
+
+    protected final int minimum, maximum;
+
+    public BaseIntListConfigEntry(IntListView defaultValue, int minimum, int maximum, boolean shouldBeSynced, boolean requiresGameRestart, boolean isClientOnly, boolean isServerOnly, String comment){
+        super(defaultValue, shouldBeSynced, requiresGameRestart, isClientOnly, isServerOnly, comment);
+        this.minimum = minimum;
+        this.maximum = maximum;
+    }
+
+    @Override
+    public String getAllowedValuesHint(){
+        return "Allowed range: " + this.minimum + " ~ " + this.maximum + " - Default: " + this.defaultValue;
+    }
+
+    @Override
+    public boolean validateValue(IntListView value){
+        for(int i = 0; i < value.size(); i++){
+            int element = value.getInt(i);
+            if(element < this.minimum || element > this.maximum)
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public byte[] write(IntListView value){
+        ByteBuffer buffer = ByteBuffer.allocate(4 + value.size() * 4).putInt(value.size());
+        for(int i = 0; i < value.size(); i++)
+            buffer.putInt(value.getInt(i));
+        return buffer.array();
+    }
+
+    @Override
+    public IntListView read(ByteBuffer buffer){
+        int size = buffer.getInt();
+        if(size < 0 || size > buffer.remaining() / 4)
+            return null;
+        int[] values = new int[size];
+        for(int i = 0; i < size; i++)
+            values[i] = buffer.getInt();
+        return IntListView.of(values);
+    }
+}
@@ -0,0 +1,55 @@
+package com.supermartijn642.configlib;
+
+import com.supermartijn642.configlib.api.LongListView;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Range checking and network encoding of {@code long} list entries, shared between all file formats
+ * <p>
+ * Created 17/10/2026 by agent
+ */
+public abstract class BaseLongListConfigEntry<S> extends BaseConfigEntry<LongListView,S> {
+
+    protected final long minimum, maximum;
+
+    public BaseLongListConfigEntry(LongListView defaultValue, long minimum, long maximum, boolean shouldBeSynced, boolean requiresGameRestart, boolean isClientOnly, boolean isServerOnly, String comment){
+        super(defaultValue, shouldBeSynced, requiresGameRestart, isClientOnly, isServerOnly, comment);
+        this.minimum = minimum;
+        this.maximum = maximum;
+    }
+
+    @Override
+    public String getAllowedValuesHint(){
+        return "Allowed range: " + this.minimum + " ~ " + this.maximum + " - Default: " + this.defaultValue;
+    }
+
+    @Override
+    public boolean validateValue(LongListView value){
+        for(int i = 0; i < value.size(); i++){
+            long element = value.getLong(i);
+            if(element < this.minimum || element > this.maximum)
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public byte[] write(LongListView value){
+        ByteBuffer buffer = ByteBuffer.allocate(4 + value.size() * 8).putInt(value.size());
+        for(int i = 0; i < value.size(); i++)
+            buffer.putLong(value.getLong(i));
+        return buffer.array();
+    }
+
+    @Override
+    public LongListView read(ByteBuffer buffer){
+        int size = buffer.getInt();
+        if(size < 0 || size > buffer.remaining() / 8)
+            return null;
+        long[] values = new long[size];
+        for(int i = 0; i < size; i++)
+            values[i] = buffer.getLong();
+        return LongListView.of(values);
+    }
+}
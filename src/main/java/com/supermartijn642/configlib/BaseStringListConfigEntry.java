@@ -0,0 +1,67 @@
+package com.supermartijn642.configlib;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Length checking and network encoding of string list entries, shared between all file formats
+ * <p>
+ * Created 17/10/2026 by agent
+ */
+public abstract class BaseStringListConfigEntry<S> extends BaseConfigEntry<List<String>,S> {
+
+    protected final int minLength, maxLength;
+
+    public BaseStringListConfigEntry(List<String> defaultValue, int minLength, int maxLength, boolean shouldBeSynced, boolean requiresGameRestart, boolean isClientOnly, boolean isServerOnly, String comment){
+        super(defaultValue, shouldBeSynced, requiresGameRestart, isClientOnly, isServerOnly, comment);
+        this.minLength = minLength;
+        this.maxLength = maxLength;
+    }
+
+    @Override
+    public String getAllowedValuesHint(){
+        return "Allowed length: " + this.minLength + " ~ " + this.maxLength + " - Default: " + this.defaultValue;
+    }
+
+    @Override
+    public boolean validateValue(List<String> value){
+        for(String element : value)
+            if(element.length() < this.minLength || element.length() > this.maxLength)
+                return false;
+        return true;
+    }
+
+    @Override
+    public byte[] write(List<String> value){
+        byte[][] bytes = new byte[value.size()][];
+        int size = 4;
+        for(int i = 0; i < bytes.length; i++){
+            bytes[i] = value.get(i).getBytes(StandardCharsets.UTF_8);
+            size += 4 + bytes[i].length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size).putInt(bytes.length);
+        for(byte[] element : bytes)
+            buffer.putInt(element.length).put(element);
+        return buffer.array();
+    }
+
+    @Override
+    public List<String> read(ByteBuffer buffer){
+        int size = buffer.getInt();
+        if(size < 0 || size > buffer.remaining() / 4)
+            return null;
+        String[] values = new String[size];
+        for(int i = 0; i < size; i++){
+            int length = buffer.getInt();
+            if(length < 0 || length > buffer.remaining())
+                return null;
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            values[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return Collections.unmodifiableList(Arrays.asList(values));
+    }
+}
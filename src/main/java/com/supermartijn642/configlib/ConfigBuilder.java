@@ -1,11 +1,15 @@
 package com.supermartijn642.configlib;
 
+import com.supermartijn642.configlib.api.IConfigChangeListener;
+import com.supermartijn642.configlib.api.IConfigSnapshot;
 import org.apache.commons.lang3.tuple.Pair;
 
 import java.io.File;
+import java.lang.invoke.MethodHandle;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.function.Supplier;
+import java.util.concurrent.Executor;
+import java.util.function.*;
 import java.util.stream.Collectors;
 
 /**
@@ -18,7 +22,12 @@ public abstract class ConfigBuilder<S> {
 
     private final Map<String,ModConfig.Entry<?,S>> entries = new LinkedHashMap<>();
     private final Map<List<String>,String> categoryComments = new LinkedHashMap<>();
+    private final List<Pair<Object,IConfigChangeListener>> listeners = new ArrayList<>();
+    private Executor listenerExecutor;
+    private boolean liveReload = false;
+    private boolean lazyInitialization = false;
     private boolean hasBeenBuild = false;
+    private ModConfig<S> config;
 
     public ConfigBuilder(String modid, String name, String extension, boolean createSubDirectory){
         if(modid == null || modid.isEmpty())
@@ -36,14 +45,33 @@ public abstract class ConfigBuilder<S> {
     protected abstract ConfigFile<S> createConfigFile(File file);
 
     protected <T> Supplier<T> addEntry(String[] path, ConfigEntry<T,S> configEntry){
-        if(this.entries.containsKey(String.join(".", path)))
-            throw new IllegalStateException("An entry for '" + String.join(".", path) + "' is already defined!");
-        if(configEntry.shouldBeSynced() && String.join(".", path).getBytes(StandardCharsets.UTF_8).length > 1024)
-            throw new IllegalArgumentException("Syncable value '" + String.join(".", path) + "''s path must be smaller than 1024 bytes in length!");
+        return this.registerEntry(new ModConfig.Entry<>(path, configEntry));
+    }
+
+    protected BooleanSupplier addBooleanEntry(String[] path, ConfigEntry<Boolean,S> configEntry){
+        return this.registerEntry(new ModConfig.BooleanEntry<>(path, configEntry));
+    }
+
+    protected IntSupplier addIntEntry(String[] path, ConfigEntry<Integer,S> configEntry){
+        return this.registerEntry(new ModConfig.IntEntry<>(path, configEntry));
+    }
+
+    protected LongSupplier addLongEntry(String[] path, ConfigEntry<Long,S> configEntry){
+        return this.registerEntry(new ModConfig.LongEntry<>(path, configEntry));
+    }
 
-        ModConfig.Entry<T,S> entry = new ModConfig.Entry<>(path, configEntry);
-        this.entries.put(String.join(".", path), entry);
-        return entry::getValue;
+    protected DoubleSupplier addDoubleEntry(String[] path, ConfigEntry<Double,S> configEntry){
+        return this.registerEntry(new ModConfig.DoubleEntry<>(path, configEntry));
+    }
+
+    private <E extends ModConfig.Entry<?,S>> E registerEntry(E entry){
+        if(this.entries.containsKey(entry.combinedPath))
+            throw new IllegalStateException("An entry for '" + entry.combinedPath + "' is already defined!");
+        if(entry.configEntry.shouldBeSynced() && entry.combinedPath.getBytes(StandardCharsets.UTF_8).length > 1024)
+            throw new IllegalArgumentException("Syncable value '" + entry.combinedPath + "''s path must be smaller than 1024 bytes in length!");
+
+        this.entries.put(entry.combinedPath, entry);
+        return entry;
     }
 
     protected void addCategoryComment(String[] path, String comment){
@@ -54,6 +82,49 @@ public abstract class ConfigBuilder<S> {
         this.categoryComments.put(pathKey, comment);
     }
 
+    protected void addListener(Object entry, IConfigChangeListener listener){
+        if(entry != null && (!(entry instanceof ModConfig.Entry) || this.entries.get(((ModConfig.Entry<?,?>)entry).combinedPath) != entry))
+            throw new IllegalArgumentException("Entry does not belong to this config!");
+
+        if(this.config == null)
+            this.listeners.add(Pair.of(entry, listener));
+        else
+            this.config.addListener(entry, listener);
+    }
+
+    protected void setListenerExecutor(Executor executor){
+        if(this.config == null)
+            this.listenerExecutor = executor;
+        else
+            this.config.setListenerExecutor(executor);
+    }
+
+    protected void enableLiveReload(){
+        if(this.config == null)
+            this.liveReload = true;
+        else
+            this.config.enableLiveReload();
+    }
+
+    protected void enableLazyInitialization(){
+        if(this.config != null)
+            throw new IllegalStateException("Config has already been build!");
+        this.lazyInitialization = true;
+    }
+
+    protected MethodHandle getConstantHandle(Object entry){
+        if(!(entry instanceof ModConfig.Entry) || this.entries.get(((ModConfig.Entry<?,?>)entry).combinedPath) != entry)
+            throw new IllegalArgumentException("Entry does not belong to this config!");
+
+        return ((ModConfig.Entry<?,?>)entry).getConstantHandle();
+    }
+
+    protected IConfigSnapshot getSnapshot(){
+        if(this.config == null)
+            throw new IllegalStateException("Config has not yet been build!");
+        return this.config.getSnapshot();
+    }
+
     private String getRelativeFileLocation(){
         String cleanModid = this.modid.replaceAll("[\\\\/:*?\"<>|]", "");
 
@@ -85,7 +156,14 @@ public abstract class ConfigBuilder<S> {
                 .map(entry -> Pair.of(entry.getKey().toArray(new String[0]), entry.getValue()))
                 .collect(Collectors.toList());
 
-        ModConfig<S> config = new ModConfig<>(this.modid, relativeLocation, configFile, new ArrayList<>(this.entries.values()), categoryComments);
-        ConfigLib.addConfig(config);
+        this.config = new ModConfig<>(this.modid, relativeLocation, configFile, new ArrayList<>(this.entries.values()), categoryComments);
+        this.listeners.forEach(listener -> this.config.addListener(listener.getLeft(), listener.getRight()));
+        if(this.listenerExecutor != null)
+            this.config.setListenerExecutor(this.listenerExecutor);
+        if(this.liveReload)
+            this.config.enableLiveReload();
+        if(this.lazyInitialization)
+            this.config.enableLazyInitialization();
+        ConfigLib.addConfig(this.config);
     }
 }
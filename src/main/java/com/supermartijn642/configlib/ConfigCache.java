@@ -0,0 +1,171 @@
+package com.supermartijn642.configlib;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Stores the validated values of all configs in a single binary file, such that unchanged config files don't need to be
+ * parsed and written again on the next launch. Values are only used when the config file's size, modification time and
+ * content hash, as well as the config's schema, are the same as when the values were stored.
+ * The cache is enabled by setting the 'configlib.startupCache' system property to true.
+ * <p>
+ * Created 17/10/2026 by agent
+ */
+public final class ConfigCache {
+
+    private static final boolean ENABLED = Boolean.getBoolean("configlib.startupCache");
+    private static final String FILE_NAME = "configlib-cache.bin";
+    private static final int MAGIC = 0x434C4348, VERSION = 1;
+
+    private static Map<String,CachedConfig> configs;
+    private static boolean dirty = false;
+
+    private ConfigCache(){
+    }
+
+    public static boolean isEnabled(){
+        return ENABLED;
+    }
+
+    /**
+     * Gets the cached values for the given config
+     * @param fingerprint size, modification time and content hash of the config file
+     * @param schemaHash  hash of the config's entries
+     * @return the encoded values indexed by entry index, or {@code null} if there are no matching cached values
+     */
+    public static synchronized byte[][] get(String identifier, long[] fingerprint, long schemaHash){
+        CachedConfig config = getConfigs().get(identifier);
+        if(config == null || config.schemaHash != schemaHash || !Arrays.equals(config.fingerprint, fingerprint))
+            return null;
+        return config.values;
+    }
+
+    /**
+     * Gets the fingerprint of the file from which the cached values for the given config were stored
+     * @param schemaHash hash of the config's entries
+     * @return the file's size, modification time and content hash, or {@code null} if there are no matching cached values
+     */
+    public static synchronized long[] getFingerprint(String identifier, long schemaHash){
+        CachedConfig config = getConfigs().get(identifier);
+        if(config == null || config.schemaHash != schemaHash)
+            return null;
+        return config.fingerprint;
+    }
+
+    /**
+     * Stores the given values for the given config, replacing any previous values
+     * @param fingerprint size, modification time and content hash of the config file
+     * @param schemaHash  hash of the config's entries
+     * @param values      encoded values indexed by entry index
+     */
+    public static synchronized void put(String identifier, long[] fingerprint, long schemaHash, byte[][] values){
+        getConfigs().put(identifier, new CachedConfig(fingerprint, schemaHash, values));
+        dirty = true;
+    }
+
+    /**
+     * Writes the cache to disk if it changed
+     */
+    public static synchronized void save(){
+        if(!ENABLED || !dirty)
+            return;
+        dirty = false;
+
+        Path target = getFile().toPath();
+        Path temporary = target.resolveSibling(FILE_NAME + ".tmp");
+        try{
+            Files.createDirectories(target.getParent());
+            try(DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))){
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                output.writeInt(configs.size());
+                for(Map.Entry<String,CachedConfig> entry : configs.entrySet()){
+                    CachedConfig config = entry.getValue();
+                    output.writeUTF(entry.getKey());
+                    for(long value : config.fingerprint)
+                        output.writeLong(value);
+                    output.writeLong(config.schemaHash);
+                    output.writeInt(config.values.length);
+                    for(byte[] value : config.values){
+                        if(value == null)
+                            output.writeInt(-1);
+                        else{
+                            output.writeInt(value.length);
+                            output.write(value);
+                        }
+                    }
+                }
+            }
+            try{
+                Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }catch(AtomicMoveNotSupportedException e){
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }catch(Exception e){
+            ConfigLib.LOGGER.error("Failed to write config cache '" + target + "'!", e);
+            try{
+                Files.deleteIfExists(temporary);
+            }catch(IOException ignore){
+            }
+        }
+    }
+
+    private static File getFile(){
+        return new File(ConfigLib.getConfigFolder(), FILE_NAME);
+    }
+
+    private static Map<String,CachedConfig> getConfigs(){
+        if(configs == null)
+            configs = load();
+        return configs;
+    }
+
+    private static Map<String,CachedConfig> load(){
+        Map<String,CachedConfig> configs = new HashMap<>();
+        File file = getFile();
+        if(!file.isFile())
+            return configs;
+
+        try(DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))){
+            // Ignore caches written by other versions
+            if(input.readInt() != MAGIC || input.readInt() != VERSION)
+                return configs;
+
+            int configCount = input.readInt();
+            for(int i = 0; i < configCount; i++){
+                String identifier = input.readUTF();
+                long[] fingerprint = {input.readLong(), input.readLong(), input.readLong()};
+                long schemaHash = input.readLong();
+                byte[][] values = new byte[input.readInt()][];
+                for(int j = 0; j < values.length; j++){
+                    int length = input.readInt();
+                    if(length >= 0){
+                        values[j] = new byte[length];
+                        input.readFully(values[j]);
+                    }
+                }
+                configs.put(identifier, new CachedConfig(fingerprint, schemaHash, values));
+            }
+        }catch(Exception e){
+            ConfigLib.LOGGER.warn("Failed to read config cache '" + file.getPath() + "', ignoring it!", e);
+            configs.clear();
+        }
+        return configs;
+    }
+
+    private static final class CachedConfig {
+
+        private final long[] fingerprint;
+        private final long schemaHash;
+        private final byte[][] values;
+
+        private CachedConfig(long[] fingerprint, long schemaHash, byte[][] values){
+            this.fingerprint = fingerprint;
+            this.schemaHash = schemaHash;
+            this.values = values;
+        }
+    }
+}
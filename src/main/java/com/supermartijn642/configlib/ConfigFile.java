@@ -1,5 +1,7 @@
 package com.supermartijn642.configlib;
 
+import java.util.function.BiConsumer;
+
 /**
  * Created 24/03/2022 by SuperMartijn642
  */
@@ -15,9 +17,37 @@ public interface ConfigFile<S> {
 
     void clearValues();
 
-    void startTrackingFile();
+    /**
+     * Starts reading the file again whenever it changes
+     * @param reloadListener called after the file has been read again successfully
+     */
+    void startTrackingFile(Runnable reloadListener);
 
     void readFile();
 
+    /**
+     * Reads the file and passes each value in it to the given consumer, without storing the values in this config file.
+     * @return {@code false} if the file could not be read
+     */
+    boolean readValues(BiConsumer<String[],S> consumer);
+
     void writeFile();
+
+    /**
+     * Reads the file without parsing it, only if its size and modification time match the given ones
+     * @return the file's size, modification time and content hash, or {@code null} if the file could not be read or its size
+     * or modification time differ
+     */
+    long[] readFingerprint(long size, long modified);
+
+    /**
+     * @return the file's size, modification time and content hash when it was last read or written, or {@code null} if unknown
+     */
+    long[] getFingerprint();
+
+    /**
+     * Sets the timings to which the time spent reading, parsing, rendering and writing the file is added
+     * @param timings timings to add to, or {@code null} to stop recording
+     */
+    void setTimings(ConfigTimings timings);
 }
@@ -0,0 +1,267 @@
+package com.supermartijn642.configlib;
+
+import java.io.File;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches config files for changes using a single thread for all config files.
+ * <p>
+ * By default, a {@link WatchService} is used. Each directory is only registered once, events are dispatched to the listener
+ * registered for the changed file. Listeners are only notified once no new events for their file have arrived for a short
+ * while, set through the 'configlib.reloadDelay' system property in milliseconds.
+ * <p>
+ * Setting the 'configlib.fileWatcher' system property to 'poll' instead checks the modification time and size of all files
+ * every 'configlib.pollInterval' milliseconds. This works for file systems which don't reliably report changes, such as
+ * network file systems and bind mounts. Changed files wait for the same quiet window before their listener is notified.
+ * <p>
+ * Created 17/10/2026 by agent
+ */
+public final class ConfigFileWatcher {
+
+    private static final long QUIET_WINDOW = TimeUnit.MILLISECONDS.toNanos(Math.max(Long.getLong("configlib.reloadDelay", 100), 0));
+    private static final Strategy STRATEGY = Strategy.fromProperty(System.getProperty("configlib.fileWatcher"));
+    private static final long POLL_INTERVAL = Math.max(Long.getLong("configlib.pollInterval", 2000), 10);
+
+    private static final Map<Path,Runnable> LISTENERS = new ConcurrentHashMap<>();
+    private static final Map<WatchKey,Path> DIRECTORIES = new ConcurrentHashMap<>();
+    private static WatchService watchService;
+    /**
+     * Last seen modification time and size of all files, only used when polling
+     */
+    private static final Map<Path,long[]> POLLED_ATTRIBUTES = new ConcurrentHashMap<>();
+    /**
+     * Attributes stored for files which do not exist
+     */
+    private static final long[] MISSING_FILE = {-1, -1};
+    /**
+     * Files waiting to stop changing, with the time at which their listener should be notified, only accessed from the poller thread
+     */
+    private static final Map<Path,Long> PENDING_POLLED_FILES = new LinkedHashMap<>();
+    private static volatile ScheduledExecutorService poller;
+    private static ScheduledFuture<?> pendingNotify;
+
+    private ConfigFileWatcher(){
+    }
+
+    /**
+     * Calls the given listener whenever the given file is modified, created or deleted
+     * @return whether the file is being watched
+     * @throws IllegalStateException if the file is already being watched
+     */
+    public static synchronized boolean watch(File file, Runnable listener){
+        Path path = file.toPath().toAbsolutePath().normalize();
+        Path directory = path.getParent();
+        if(LISTENERS.putIfAbsent(path, listener) != null)
+            throw new IllegalStateException("Config file is already being tracked!");
+
+        if(STRATEGY == Strategy.POLL){
+            POLLED_ATTRIBUTES.put(path, readAttributes(path));
+            if(poller == null)
+                poller = startPoller();
+            return true;
+        }
+
+        try{
+            if(watchService == null){
+                watchService = directory.getFileSystem().newWatchService();
+                startWatchThread(watchService);
+            }
+            // Register the directory if it is not yet being watched
+            if(!DIRECTORIES.containsValue(directory)){
+                WatchKey key = directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                DIRECTORIES.put(key, directory);
+            }
+        }catch(Exception e){
+            LISTENERS.remove(path);
+            ConfigLib.LOGGER.error("Failed to create watch service for config file '" + file.getPath() + "'!", e);
+            return false;
+        }
+        return true;
+    }
+
+    private static ScheduledExecutorService startPoller(){
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Config Lib config file poller");
+            // Make sure the thread doesn't prevent the program from exiting
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(ConfigFileWatcher::pollFiles, POLL_INTERVAL, POLL_INTERVAL, TimeUnit.MILLISECONDS);
+        return executor;
+    }
+
+    /**
+     * Checks all files for changes in their modification time or size and (re)starts the quiet window of changed files
+     */
+    private static void pollFiles(){
+        long deadline = System.nanoTime() + QUIET_WINDOW;
+        for(Map.Entry<Path,long[]> entry : POLLED_ATTRIBUTES.entrySet()){
+            try{
+                long[] attributes = readAttributes(entry.getKey());
+                if(Arrays.equals(attributes, entry.getValue()))
+                    continue;
+                entry.setValue(attributes);
+                PENDING_POLLED_FILES.put(entry.getKey(), deadline);
+            }catch(Exception e){
+                ConfigLib.LOGGER.error("Encountered an exception whilst polling config file '" + entry.getKey() + "'!", e);
+            }
+        }
+        notifyPolledFiles();
+    }
+
+    /**
+     * Notifies the listeners of all files which have not changed during their quiet window
+     */
+    private static void notifyPolledFiles(){
+        long now = System.nanoTime();
+        Iterator<Map.Entry<Path,Long>> iterator = PENDING_POLLED_FILES.entrySet().iterator();
+        while(iterator.hasNext()){
+            Map.Entry<Path,Long> entry = iterator.next();
+            if(entry.getValue() - now > 0)
+                continue;
+            try{
+                // Restart the quiet window if the file changed again
+                long[] attributes = readAttributes(entry.getKey());
+                if(!Arrays.equals(attributes, POLLED_ATTRIBUTES.get(entry.getKey()))){
+                    POLLED_ATTRIBUTES.put(entry.getKey(), attributes);
+                    entry.setValue(now + QUIET_WINDOW);
+                    continue;
+                }
+                iterator.remove();
+                Runnable listener = LISTENERS.get(entry.getKey());
+                if(listener != null)
+                    listener.run();
+            }catch(Exception e){
+                iterator.remove();
+                ConfigLib.LOGGER.error("Encountered an exception whilst handling a config file change!", e);
+            }
+        }
+
+        // Check the remaining files again once their quiet window ends rather than waiting for the next poll
+        if(pendingNotify != null)
+            pendingNotify.cancel(false);
+        if(PENDING_POLLED_FILES.isEmpty())
+            pendingNotify = null;
+        else{
+            long delay = Collections.min(PENDING_POLLED_FILES.values()) - now;
+            pendingNotify = poller.schedule(ConfigFileWatcher::notifyPolledFiles, Math.max(delay, 0), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * @return the file's modification time and size, or {@link #MISSING_FILE} if the file does not exist
+     */
+    private static long[] readAttributes(Path path){
+        try{
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return new long[]{attributes.lastModifiedTime().toMillis(), attributes.size()};
+        }catch(Exception e){
+            return MISSING_FILE;
+        }
+    }
+
+    private static void startWatchThread(WatchService watchService){
+        // Create a new thread to wait for watch service events
+        Thread watchThread = new Thread(
+            () -> {
+                // Listeners waiting for their file to stop changing, with the time at which they should be notified
+                Map<Runnable,Long> pendingListeners = new LinkedHashMap<>();
+                while(true){
+                    WatchKey watchKey;
+
+                    // Wait for a new event or until the next listener should be notified
+                    try{
+                        if(pendingListeners.isEmpty())
+                            watchKey = watchService.take();
+                        else{
+                            long timeout = Collections.min(pendingListeners.values()) - System.nanoTime();
+                            watchKey = timeout > 0 ? watchService.poll(timeout, TimeUnit.NANOSECONDS) : watchService.poll();
+                        }
+                    }catch(Exception e){
+                        // Watch service got closed
+                        break;
+                    }
+
+                    // Collect the listeners of all changed files and (re)start their quiet window
+                    if(watchKey != null){
+                        long deadline = System.nanoTime() + QUIET_WINDOW;
+                        Path directory = DIRECTORIES.get(watchKey);
+                        if(directory != null){
+                            for(WatchEvent<?> pollEvent : watchKey.pollEvents()){
+                                if(pollEvent.kind() == StandardWatchEventKinds.OVERFLOW){
+                                    // Events got lost, thus notify all files in the directory
+                                    LISTENERS.forEach((path, listener) -> {
+                                        if(directory.equals(path.getParent()))
+                                            pendingListeners.put(listener, deadline);
+                                    });
+                                    continue;
+                                }
+                                Runnable listener = LISTENERS.get(directory.resolve((Path)pollEvent.context()));
+                                if(listener != null)
+                                    pendingListeners.put(listener, deadline);
+                            }
+                        }
+
+                        // Reset the watch key
+                        if(!watchKey.reset())
+                            DIRECTORIES.remove(watchKey);
+                    }
+
+                    // Notify the listeners whose files have stopped changing
+                    long now = System.nanoTime();
+                    Iterator<Map.Entry<Runnable,Long>> iterator = pendingListeners.entrySet().iterator();
+                    while(iterator.hasNext()){
+                        Map.Entry<Runnable,Long> entry = iterator.next();
+                        if(entry.getValue() - now > 0)
+                            continue;
+                        iterator.remove();
+                        try{
+                            entry.getKey().run();
+                        }catch(Exception e){
+                            ConfigLib.LOGGER.error("Encountered an exception whilst handling a config file change!", e);
+                        }
+                    }
+                }
+            },
+            "Config Lib config file watcher"
+        );
+        // Make sure the thread doesn't prevent the program from exiting
+        watchThread.setDaemon(true);
+        // Start the file watcher thread
+        watchThread.start();
+    }
+
+    private enum Strategy {
+        /**
+         * Get notified of changes through a {@link WatchService}
+         */
+        WATCH,
+        /**
+         * Periodically check the modification time and size of all files
+         */
+        POLL;
+
+        private static Strategy fromProperty(String property){
+            if(property == null)
+                return WATCH;
+            try{
+                return valueOf(property.trim().toUpperCase(Locale.ROOT));
+            }catch(IllegalArgumentException e){
+                ConfigLib.LOGGER.warn("Unknown config file watcher '" + property + "', must be one of " + Arrays.toString(values()) + "!");
+                return WATCH;
+            }
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package com.supermartijn642.configlib;
 
+import io.netty.buffer.ByteBuf;
 import net.minecraft.entity.player.ServerPlayerEntity;
 import net.minecraft.network.PacketBuffer;
 import net.minecraft.util.ResourceLocation;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.event.entity.player.PlayerEvent;
 import net.minecraftforge.fml.ExtensionPoint;
 import net.minecraftforge.fml.ModList;
@@ -16,12 +18,16 @@ import net.minecraftforge.fml.loading.FMLPaths;
 import net.minecraftforge.fml.network.NetworkRegistry;
 import net.minecraftforge.fml.network.PacketDistributor;
 import net.minecraftforge.fml.network.simple.SimpleChannel;
+import net.minecraftforge.fml.server.ServerLifecycleHooks;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.function.Consumer;
 
 /**
@@ -39,10 +45,36 @@ public class ConfigLib {
     private static final Set<String> CONFIG_NAMES = new HashSet<>();
     private static final List<ModConfig<?>> SYNCABLE_CONFIGS = new ArrayList<>();
     private static final Map<String,ModConfig<?>> SYNCABLE_CONFIGS_BY_IDENTIFIER = new HashMap<>();
+    /**
+     * Configs whose synced values changed and should be sent to all players on the next server tick
+     */
+    private static final Set<ModConfig<?>> QUEUED_SYNC_CONFIGS = ConcurrentHashMap.newKeySet();
+    /**
+     * Generation of the values sent to each player in response to their sync requests, only accessed from the server thread
+     */
+    private static final Map<UUID,Map<ModConfig<?>,Long>> ANSWERED_SYNC_REQUESTS = new HashMap<>();
+
+    /**
+     * Configs are initialized in parallel when the 'configlib.parallelInitialization' system property is set to true.
+     * Configs which then fail to initialize use their default values, rather than failing when they are built.
+     */
+    private static final boolean PARALLEL_INITIALIZATION = Boolean.getBoolean("configlib.parallelInitialization");
+    private static final int INITIALIZATION_THREADS = Math.max(Integer.getInteger("configlib.initializationThreads", Math.min(Runtime.getRuntime().availableProcessors(), 4)), 1);
+    private static ForkJoinPool initializationPool;
+    private static boolean reportedInitialization = false;
+
+    /**
+     * Synced values are split over multiple packets when they exceed this size, which stays below the limit of a custom payload packet
+     */
+    private static final int MAX_PACKET_SIZE = 1000000;
+    /**
+     * Version of the sync packets' format, must be incremented whenever the format changes
+     */
+    private static final int PROTOCOL_VERSION = 2;
 
     public ConfigLib(){
-        // Allow connection if there are no syncable configs or if the server has the same mod version
-        ModLoadingContext.get().registerExtensionPoint(ExtensionPoint.DISPLAYTEST, () -> Pair.of(ConfigLib::getModVersion, (remoteVersion, isFromServer) -> canConnectWith(remoteVersion)));
+        // Allow connection if there are no syncable configs or if the server has the same mod and protocol version
+        ModLoadingContext.get().registerExtensionPoint(ExtensionPoint.DISPLAYTEST, () -> Pair.of(ConfigLib::getNetworkVersion, (remoteVersion, isFromServer) -> canConnectWith(remoteVersion)));
 
         // Register event listeners
         MinecraftForge.EVENT_BUS.addListener((Consumer<FMLServerAboutToStartEvent>)e -> onLoadGame());
@@ -50,11 +82,24 @@ public class ConfigLib {
             if(e.getPlayer() instanceof ServerPlayerEntity)
                 onPlayerJoinServer((ServerPlayerEntity)e.getPlayer());
         });
+        MinecraftForge.EVENT_BUS.addListener((Consumer<PlayerEvent.PlayerLoggedOutEvent>)e -> {
+            if(e.getPlayer() instanceof ServerPlayerEntity)
+                onPlayerLeaveServer((ServerPlayerEntity)e.getPlayer());
+        });
+        MinecraftForge.EVENT_BUS.addListener((Consumer<TickEvent.ServerTickEvent>)e -> {
+            if(e.phase == TickEvent.Phase.END)
+                onServerTick();
+        });
         if(isClientEnvironment())
             ConfigLibClient.registerEventListeners();
 
-        channel = NetworkRegistry.newSimpleChannel(CHANNEL_ID, ConfigLib::getModVersion, ConfigLib::canConnectWith, ConfigLib::canConnectWith);
-        channel.registerMessage(0, ConfigSyncPacket.class, ConfigLib::createSyncedEntriesPacket, buffer -> handleSyncConfigPacket(buffer), (packet, context) -> context.get().setPacketHandled(true));
+        channel = NetworkRegistry.newSimpleChannel(CHANNEL_ID, ConfigLib::getNetworkVersion, ConfigLib::canConnectWith, ConfigLib::canConnectWith);
+        channel.registerMessage(0, ConfigSyncPacket.class, ConfigSyncPacket::write, buffer -> handleSyncConfigPacket(buffer), (packet, context) -> context.get().setPacketHandled(true));
+        channel.registerMessage(1, ConfigSyncRequestPacket.class, (packet, buffer) -> buffer.writeUtf(packet.identifier), buffer -> new ConfigSyncRequestPacket(buffer.readUtf()), (packet, context) -> {
+            ServerPlayerEntity sender = context.get().getSender();
+            context.get().enqueueWork(() -> handleSyncRequestPacket(packet, sender));
+            context.get().setPacketHandled(true);
+        });
     }
 
     public static boolean isClientEnvironment(){
@@ -69,8 +114,15 @@ public class ConfigLib {
         return ModList.get().getModContainerById("supermartijn642configlib").orElseThrow(AssertionError::new).getModInfo().getVersion().toString();
     }
 
+    /**
+     * @return the mod version combined with the version of the sync packets' format
+     */
+    public static String getNetworkVersion(){
+        return getModVersion() + "-" + PROTOCOL_VERSION;
+    }
+
     public static boolean canConnectWith(String remoteVersion){
-        return SYNCABLE_CONFIGS.isEmpty() || getModVersion().equals(remoteVersion);
+        return SYNCABLE_CONFIGS.isEmpty() || getNetworkVersion().equals(remoteVersion);
     }
 
     public static File getConfigFolder(){
@@ -88,11 +140,83 @@ public class ConfigLib {
             SYNCABLE_CONFIGS_BY_IDENTIFIER.put(config.getIdentifier(), config);
         }
 
-        config.initialize();
+        if(config.isInitializedLazily())
+            return;
+        if(PARALLEL_INITIALIZATION){
+            if(initializationPool == null)
+                initializationPool = createInitializationPool();
+            config.initializeAsync(initializationPool);
+        }else
+            config.initialize();
+    }
+
+    private static ForkJoinPool createInitializationPool(){
+        ClassLoader classLoader = ConfigLib.class.getClassLoader();
+        return new ForkJoinPool(INITIALIZATION_THREADS, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("Config Lib initializer " + thread.getPoolIndex());
+            // Make sure mod classes can be loaded from the worker threads
+            thread.setContextClassLoader(classLoader);
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * Waits for all configs which are being initialized
+     */
+    private static void awaitInitialization(){
+        List<ModConfig<?>> configs;
+        synchronized(ConfigLib.class){
+            configs = new ArrayList<>(CONFIGS);
+        }
+
+        for(ModConfig<?> config : configs){
+            try{
+                config.awaitInitialization();
+            }catch(Exception ignore){
+                // Already logged by the config
+            }
+        }
+    }
+
+    /**
+     * Gets the time spent on initializing each config which has been initialized, sorted from slowest to fastest
+     */
+    public static List<ConfigTimings> getInitializationTimings(){
+        List<ConfigTimings> timings = new ArrayList<>();
+        synchronized(ConfigLib.class){
+            for(ModConfig<?> config : CONFIGS){
+                if(config.isInitialized())
+                    timings.add(config.getTimings());
+            }
+        }
+        timings.sort(Comparator.comparingLong(ConfigTimings::getTotalTime).reversed());
+        return timings;
+    }
+
+    /**
+     * Logs the time spent on each stage in total and for the slowest configs, once
+     */
+    private static void reportInitialization(){
+        synchronized(ConfigLib.class){
+            if(reportedInitialization)
+                return;
+            reportedInitialization = true;
+        }
+
+        List<ConfigTimings> timings = getInitializationTimings();
+        ConfigTimings total = new ConfigTimings("", "");
+        timings.forEach(total::add);
+        LOGGER.info("Initialized " + timings.size() + " configs" + (PARALLEL_INITIALIZATION ? " on " + INITIALIZATION_THREADS + " threads" : "") + " in " + total);
+        for(int i = 0; i < Math.min(timings.size(), 5); i++)
+            LOGGER.info("  " + timings.get(i).getIdentifier() + " from mod '" + timings.get(i).getModid() + "' took " + timings.get(i));
     }
 
     protected static void onLoadGame(){
+        awaitInitialization();
         CONFIGS.forEach(ModConfig::onJoinGame);
+        reportInitialization();
+        ConfigCache.save();
     }
 
     protected static void onLeaveGame(){
@@ -103,34 +227,118 @@ public class ConfigLib {
         sendSyncConfigPackets(sender);
     }
 
+    protected static void onPlayerLeaveServer(ServerPlayerEntity player){
+        ANSWERED_SYNC_REQUESTS.remove(player.getUUID());
+    }
+
+    /**
+     * Queues the config's synced values to be sent to all players, if a server is running
+     */
+    protected static void queueSyncConfig(ModConfig<?> config){
+        if(ServerLifecycleHooks.getCurrentServer() != null)
+            QUEUED_SYNC_CONFIGS.add(config);
+    }
+
+    protected static void onServerTick(){
+        if(QUEUED_SYNC_CONFIGS.isEmpty())
+            return;
+
+        List<ModConfig<?>> configs = new ArrayList<>();
+        Iterator<ModConfig<?>> iterator = QUEUED_SYNC_CONFIGS.iterator();
+        while(iterator.hasNext()){
+            configs.add(iterator.next());
+            iterator.remove();
+        }
+        sendSyncConfigPackets(PacketDistributor.ALL.noArg(), configs, false);
+    }
+
     private static void sendSyncConfigPackets(ServerPlayerEntity sender){
-        for(ModConfig<?> config : SYNCABLE_CONFIGS){
-            channel.send(PacketDistributor.PLAYER.with(() -> sender), new ConfigSyncPacket(config));
+        sendSyncConfigPackets(PacketDistributor.PLAYER.with(() -> sender), SYNCABLE_CONFIGS, false);
+    }
+
+    /**
+     * Sends the synced values of all given configs using as few packets as possible
+     */
+    private static void sendSyncConfigPackets(PacketDistributor.PacketTarget target, List<ModConfig<?>> configs, boolean addressByPath){
+        List<ByteBuf> encodedSections = new ArrayList<>();
+        try{
+            List<ByteBuf> sections = new ArrayList<>();
+            int packetSize = 5;
+            for(ModConfig<?> config : configs){
+                ByteBuf section = encodeSyncSection(config, addressByPath);
+                if(section == null)
+                    continue;
+                encodedSections.add(section);
+
+                // Start a new packet if the section doesn't fit
+                int sectionSize = ConfigSyncPacket.getEncodedSize(section.readableBytes());
+                if(!sections.isEmpty() && packetSize + sectionSize > MAX_PACKET_SIZE){
+                    channel.send(target, new ConfigSyncPacket(sections));
+                    sections = new ArrayList<>();
+                    packetSize = 5;
+                }
+                sections.add(section);
+                packetSize += sectionSize;
+            }
+            if(!sections.isEmpty())
+                channel.send(target, new ConfigSyncPacket(sections));
+        }finally{
+            // Messages are encoded as soon as they are sent, thus the sections are no longer needed
+            encodedSections.forEach(ByteBuf::release);
         }
     }
 
-    private static void createSyncedEntriesPacket(ConfigSyncPacket packet, PacketBuffer buffer){
-        ModConfig<?> config = packet.config;
-        buffer.writeUtf(config.getIdentifier());
+    private static ByteBuf encodeSyncSection(ModConfig<?> config, boolean addressByPath){
+        // Sections are the same for every player, thus they can be reused
         try{
-            config.writeSyncableEntries(buffer);
+            return config.getSyncSection(addressByPath);
         }catch(Exception e){
-            throw new RuntimeException("Failed to write syncable config entries for config '" + config.getIdentifier() + "' from mod '" + config.getModid() + "'!", e);
+            LOGGER.error("Failed to write syncable config entries for config '" + config.getIdentifier() + "' from mod '" + config.getModid() + "'!", e);
+            return null;
         }
     }
 
-    protected static ConfigSyncPacket handleSyncConfigPacket(PacketBuffer buffer){
-        String identifier = buffer.readUtf();
-        ModConfig<?> config = SYNCABLE_CONFIGS_BY_IDENTIFIER.get(identifier);
+    /**
+     * Asks the server to send the config's values identified by path
+     */
+    protected static void requestSyncByPath(ModConfig<?> config){
+        channel.sendToServer(new ConfigSyncRequestPacket(config.getIdentifier()));
+    }
+
+    private static void handleSyncRequestPacket(ConfigSyncRequestPacket packet, ServerPlayerEntity sender){
+        if(sender == null)
+            return;
+
+        ModConfig<?> config = SYNCABLE_CONFIGS_BY_IDENTIFIER.get(packet.identifier);
         if(config == null){
-            LOGGER.error("Received config sync packet for unknown config '" + identifier + "'!");
-            return null;
+            LOGGER.error("Received config sync request for unknown config '" + packet.identifier + "'!");
+            return;
         }
 
-        try{
-            config.readSyncableValues(buffer);
-        }catch(Exception e){
-            LOGGER.error("Failed to read syncable config entries for config '" + config.getIdentifier() + "' from mod '" + config.getModid() + "'!", e);
+        // Only answer once for each generation of the config's values, as the values won't differ otherwise
+        long generation = config.getGeneration();
+        Long previousGeneration = ANSWERED_SYNC_REQUESTS.computeIfAbsent(sender.getUUID(), uuid -> new HashMap<>()).put(config, generation);
+        if(previousGeneration != null && previousGeneration == generation)
+            return;
+        sendSyncConfigPackets(PacketDistributor.PLAYER.with(() -> sender), Collections.singletonList(config), true);
+    }
+
+    protected static ConfigSyncPacket handleSyncConfigPacket(PacketBuffer buffer){
+        int sectionCount = ConfigSyncPacket.readVarInt(buffer);
+        for(int i = 0; i < sectionCount; i++){
+            ByteBuf section = buffer.readSlice(ConfigSyncPacket.readVarInt(buffer));
+            String identifier = ConfigSyncPacket.readString(section, 32767);
+            ModConfig<?> config = SYNCABLE_CONFIGS_BY_IDENTIFIER.get(identifier);
+            if(config == null){
+                LOGGER.error("Received config sync packet for unknown config '" + identifier + "'!");
+                continue;
+            }
+
+            try{
+                config.readSyncableValues(section);
+            }catch(Exception e){
+                LOGGER.error("Failed to read syncable config entries for config '" + config.getIdentifier() + "' from mod '" + config.getModid() + "'!", e);
+            }
         }
         return new ConfigSyncPacket();
     }
@@ -1,17 +1,106 @@
 package com.supermartijn642.configlib;
 
+import io.netty.buffer.ByteBuf;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+
 /**
+ * Carries the synced values of one or more configs. Each config's values are encoded as a separate section, starting with
+ * the config's identifier.
+ * <p>
  * Created 1/19/2021 by SuperMartijn642
  */
 public class ConfigSyncPacket {
 
-    public final ModConfig<?> config;
+    /**
+     * Entries are identified by their index and values use a compact encoding, only used when both sides have the same syncable entries
+     */
+    public static final int INDEX_FORMAT = 2;
+    /**
+     * Entries are identified by their path
+     */
+    public static final int PATH_FORMAT = 1;
+
+    public final List<ByteBuf> sections;
 
-    protected ConfigSyncPacket(ModConfig<?> config){
-        this.config = config;
+    protected ConfigSyncPacket(List<ByteBuf> sections){
+        this.sections = sections;
     }
 
     public ConfigSyncPacket(){
-        this(null);
+        this(Collections.emptyList());
+    }
+
+    /**
+     * Writes all sections without changing their reader index, such that the packet may be encoded multiple times
+     */
+    public void write(ByteBuf buffer){
+        writeVarInt(buffer, this.sections.size());
+        for(ByteBuf section : this.sections){
+            writeVarInt(buffer, section.readableBytes());
+            buffer.writeBytes(section, section.readerIndex(), section.readableBytes());
+        }
+    }
+
+    /**
+     * @return the number of bytes {@link #write(ByteBuf)} writes for a section of the given size
+     */
+    public static int getEncodedSize(int sectionSize){
+        return 5 + sectionSize;
+    }
+
+    public static void writeString(ByteBuf buffer, String string){
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(buffer, bytes.length);
+        buffer.writeBytes(bytes);
+    }
+
+    public static String readString(ByteBuf buffer, int maxLength){
+        int length = readVarInt(buffer);
+        if(length < 0 || length > maxLength)
+            throw new IllegalArgumentException("String length '" + length + "' exceeds maximum '" + maxLength + "'!");
+        byte[] bytes = new byte[length];
+        buffer.readBytes(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public static void writeVarInt(ByteBuf buffer, int value){
+        while((value & ~0x7F) != 0){
+            buffer.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer.writeByte(value);
+    }
+
+    public static int readVarInt(ByteBuf buffer){
+        int value = 0;
+        for(int shift = 0; shift < 35; shift += 7){
+            byte b = buffer.readByte();
+            value |= (b & 0x7F) << shift;
+            if((b & 0x80) == 0)
+                return value;
+        }
+        throw new IllegalArgumentException("VarInt is too big!");
+    }
+
+    public static void writeVarLong(ByteBuf buffer, long value){
+        while((value & ~0x7FL) != 0){
+            buffer.writeByte((int)(value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer.writeByte((int)value);
+    }
+
+    public static long readVarLong(ByteBuf buffer){
+        long value = 0;
+        for(int shift = 0; shift < 70; shift += 7){
+            byte b = buffer.readByte();
+            value |= (long)(b & 0x7F) << shift;
+            if((b & 0x80) == 0)
+                return value;
+        }
+        throw new IllegalArgumentException("VarLong is too big!");
     }
 }
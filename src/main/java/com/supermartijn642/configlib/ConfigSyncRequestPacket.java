@@ -0,0 +1,15 @@
+package com.supermartijn642.configlib;
+
+/**
+ * Sent by a client whose syncable entries differ from the server's, to request the config's values identified by path
+ * <p>
+ * Created 17/10/2026 by agent
+ */
+public class ConfigSyncRequestPacket {
+
+    public final String identifier;
+
+    public ConfigSyncRequestPacket(String identifier){
+        this.identifier = identifier;
+    }
+}
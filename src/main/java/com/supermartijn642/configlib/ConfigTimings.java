@@ -0,0 +1,127 @@
+package com.supermartijn642.configlib;
+
+import java.util.Locale;
+
+/**
+ * Time spent on each stage of initializing a config, along with the number of bytes read from and written to its file
+ * <p>
+ * Created 17/10/2026 by agent
+ */
+public final class ConfigTimings {
+
+    public enum Stage {
+        /**
+         * Reading the file from disk
+         */
+        READ,
+        /**
+         * Parsing the file's contents
+         */
+        PARSE,
+        /**
+         * Deserializing and validating entry values
+         */
+        VALIDATE,
+        /**
+         * Assigning comments and allowed values hints
+         */
+        COMMENTS,
+        /**
+         * Serializing entry values and rendering the file's contents
+         */
+        SERIALIZE,
+        /**
+         * Comparing the file's contents and writing them to disk
+         */
+        WRITE,
+        /**
+         * Starting to watch the file for changes
+         */
+        WATCH,
+        /**
+         * Publishing the values
+         */
+        PUBLISH;
+
+        private final String name = this.name().toLowerCase(Locale.ROOT);
+    }
+
+    private final String modid, identifier;
+    private final long[] times = new long[Stage.values().length];
+    private long bytesRead, bytesWritten;
+
+    ConfigTimings(String modid, String identifier){
+        this.modid = modid;
+        this.identifier = identifier;
+    }
+
+    public String getModid(){
+        return this.modid;
+    }
+
+    public String getIdentifier(){
+        return this.identifier;
+    }
+
+    /**
+     * @return the time spent on the given stage in nanoseconds
+     */
+    public synchronized long getTime(Stage stage){
+        return this.times[stage.ordinal()];
+    }
+
+    /**
+     * @return the time spent on all stages in nanoseconds
+     */
+    public synchronized long getTotalTime(){
+        long total = 0;
+        for(long time : this.times)
+            total += time;
+        return total;
+    }
+
+    public synchronized long getBytesRead(){
+        return this.bytesRead;
+    }
+
+    public synchronized long getBytesWritten(){
+        return this.bytesWritten;
+    }
+
+    /**
+     * Adds time in nanoseconds to the given stage
+     */
+    public synchronized void addTime(Stage stage, long time){
+        this.times[stage.ordinal()] += time;
+    }
+
+    public synchronized void addBytesRead(long bytes){
+        this.bytesRead += bytes;
+    }
+
+    public synchronized void addBytesWritten(long bytes){
+        this.bytesWritten += bytes;
+    }
+
+    /**
+     * Adds all times and byte counts of the given timings to these timings
+     */
+    synchronized void add(ConfigTimings timings){
+        for(Stage stage : Stage.values())
+            this.times[stage.ordinal()] += timings.getTime(stage);
+        this.bytesRead += timings.getBytesRead();
+        this.bytesWritten += timings.getBytesWritten();
+    }
+
+    @Override
+    public synchronized String toString(){
+        StringBuilder builder = new StringBuilder(formatTime(this.getTotalTime())).append(" (");
+        for(Stage stage : Stage.values())
+            builder.append(stage.name).append(' ').append(formatTime(this.times[stage.ordinal()])).append(", ");
+        return builder.append("read ").append(this.bytesRead).append(" bytes, wrote ").append(this.bytesWritten).append(" bytes)").toString();
+    }
+
+    static String formatTime(long nanos){
+        return String.format(Locale.ROOT, "%.2fms", nanos / 1_000_000d);
+    }
+}
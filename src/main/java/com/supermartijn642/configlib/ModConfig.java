@@ -1,17 +1,49 @@
 package com.supermartijn642.configlib;
 
+import com.supermartijn642.configlib.api.IConfigChangeListener;
+import com.supermartijn642.configlib.api.IConfigSnapshot;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import org.apache.commons.lang3.tuple.Pair;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.MutableCallSite;
+import java.lang.invoke.SwitchPoint;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.*;
 
 /**
  * Created 24/03/2022 by SuperMartijn642
  */
 public class ModConfig<S> {
 
+    /**
+     * Only entries which differ from their default value are synced, unless the 'configlib.deltaSync' system property is set to false
+     */
+    private static final boolean DELTA_SYNC = !"false".equalsIgnoreCase(System.getProperty("configlib.deltaSync"));
+
+    private static final MethodHandle GET_VALUE, GET_AS_BOOLEAN, GET_AS_INT, GET_AS_LONG, GET_AS_DOUBLE;
+
+    static{
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try{
+            GET_VALUE = lookup.findVirtual(Entry.class, "getValue", MethodType.methodType(Object.class));
+            GET_AS_BOOLEAN = lookup.findVirtual(BooleanEntry.class, "getAsBoolean", MethodType.methodType(boolean.class));
+            GET_AS_INT = lookup.findVirtual(IntEntry.class, "getAsInt", MethodType.methodType(int.class));
+            GET_AS_LONG = lookup.findVirtual(LongEntry.class, "getAsLong", MethodType.methodType(long.class));
+            GET_AS_DOUBLE = lookup.findVirtual(DoubleEntry.class, "getAsDouble", MethodType.methodType(double.class));
+        }catch(ReflectiveOperationException e){
+            throw new RuntimeException(e);
+        }
+    }
+
     private final String modid;
     private final String identifier;
     private final ConfigFile<S> configFile;
@@ -22,6 +54,46 @@ public class ModConfig<S> {
     private final List<Entry<?,S>> syncableEntries = new ArrayList<>();
     private final List<Pair<String[],String>> categoryComments;
     private final boolean shouldBeSynced;
+    /**
+     * Working values, indexed by entry index. Only accessed whilst holding the lock on this config.
+     */
+    private final Object[] values, syncedValues;
+    /**
+     * The latest published values, replaced as a whole whenever values change
+     */
+    private volatile Snapshot snapshot;
+    private long generation;
+    private final List<Pair<Object,IConfigChangeListener>> listeners = new CopyOnWriteArrayList<>();
+    private volatile Executor listenerExecutor = Runnable::run;
+    /**
+     * Whether values are reloaded as soon as the file changes, rather than when a world is loaded
+     */
+    private volatile boolean liveReload = false;
+    /**
+     * Whether the config should only be initialized once its values are first needed
+     */
+    private boolean lazyInitialization = false;
+    private boolean initialized = false;
+    private volatile CompletableFuture<Void> initialization;
+    private final ConfigTimings timings;
+    /**
+     * Hash of the syncable entries, used to check whether entries can be identified by their index when syncing
+     */
+    private long syncSchemaHash;
+    /**
+     * Encoded sync sections identified by index and by path of the values in generation {@link #syncSectionGenerations},
+     * see {@link #getSyncSection(boolean)}
+     */
+    private final ByteBuf[] syncSections = new ByteBuf[2];
+    private final long[] syncSectionGenerations = new long[2];
+    /**
+     * Whether the values were read from the {@link ConfigCache}, in which case the config file doesn't need to be written
+     */
+    private boolean readFromCache = false;
+    /**
+     * Guards the constants installed in the entries' call sites, invalidated whenever one of those entries changes
+     */
+    private SwitchPoint constantsSwitchPoint = new SwitchPoint();
 
     public ModConfig(String modid, String identifier, ConfigFile<S> configFile, List<Entry<?,S>> configEntries, List<Pair<String[],String>> categoryComments){
         this.modid = modid;
@@ -29,16 +101,73 @@ public class ModConfig<S> {
         this.configFile = configFile;
         this.entries = Collections.unmodifiableList(configEntries);
         this.categoryComments = Collections.unmodifiableList(categoryComments);
+        this.values = new Object[this.entries.size()];
+        this.syncedValues = new Object[this.entries.size()];
+        this.timings = new ConfigTimings(modid, identifier);
 
         boolean shouldBeSynced = false;
-        for(Entry<?,S> entry : this.entries){
+        for(int index = 0; index < this.entries.size(); index++){
+            Entry<?,S> entry = this.entries.get(index);
+            entry.config = this;
+            entry.index = index;
             if(entry.configEntry.shouldBeSynced())
                 shouldBeSynced = true;
         }
         this.shouldBeSynced = shouldBeSynced;
     }
 
-    public void initialize(){
+    /**
+     * Reads, writes and publishes the config's values on the current thread
+     */
+    public synchronized void initialize(){
+        if(this.initialized)
+            return;
+        this.initialized = true;
+
+        this.readValues();
+        this.writeValues();
+        this.publishValues();
+    }
+
+    /**
+     * Reads and writes the config's values on the given executor. Values are only published after they have been written.
+     * Accessing values before then waits for the initialization to complete.
+     */
+    public synchronized CompletableFuture<Void> initializeAsync(Executor executor){
+        if(this.initialized)
+            return this.initialization == null ? CompletableFuture.completedFuture(null) : this.initialization;
+        this.initialized = true;
+
+        this.initialization = CompletableFuture.runAsync(this::readValues, executor)
+            .thenRunAsync(this::writeValues, executor)
+            .thenRun(this::publishValues)
+            .exceptionally(exception -> {
+                ConfigLib.LOGGER.error("Failed to initialize config '" + this.identifier + "' from mod '" + this.modid + "', using default values!", exception);
+                this.publishDefaultValues();
+                return null;
+            });
+        return this.initialization;
+    }
+
+    /**
+     * Publishes the default value for all entries which have no value yet, unless values have already been published
+     */
+    private synchronized void publishDefaultValues(){
+        if(this.snapshot != null)
+            return;
+        for(Entry<?,S> entry : this.entries){
+            if(!entry.wrongSide && this.values[entry.index] == null)
+                this.values[entry.index] = entry.configEntry.defaultValue();
+        }
+        this.publishSnapshot();
+    }
+
+    /**
+     * Reads and validates all values from the config file
+     */
+    private synchronized void readValues(){
+        this.configFile.setTimings(this.timings);
+
         // Sort all entries
         boolean isClientSide = ConfigLib.isClientEnvironment();
         for(Entry<?,S> entry : this.entries){
@@ -56,36 +185,258 @@ public class ModConfig<S> {
             }
         }
 
-        // Now initialize all entries
-        this.configFile.readFile();
+        StringBuilder syncSchema = new StringBuilder();
+        for(Entry<?,S> entry : this.syncableEntries){
+            Object defaultValue = entry.configEntry.defaultValue();
+            syncSchema.append(entry.combinedPath).append('\0').append(entry.configEntry.getClass().getName()).append('\0').append(defaultValue).append('\0');
+            // Enum values are synced by their ordinal
+            if(defaultValue instanceof Enum){
+                for(Enum<?> constant : ((Enum<?>)defaultValue).getDeclaringClass().getEnumConstants())
+                    syncSchema.append(constant.name()).append(',');
+                syncSchema.append('\0');
+            }
+        }
+        this.syncSchemaHash = hash(syncSchema);
 
-        this.correctSideEntries.forEach(this::readEntryValue);
+        // Use the cached values if the file did not change since they were stored
+        if(ConfigCache.isEnabled() && this.readCachedValues()){
+            this.readFromCache = true;
+            return;
+        }
+
+        // Now initialize all entries, binding values straight from the file
+        if(!this.configFile.readValues(this::bindEntryValue))
+            Arrays.fill(this.values, null);
+        long start = System.nanoTime();
+        for(Entry<?,S> entry : this.correctSideEntries){
+            if(this.values[entry.index] == null)
+                this.values[entry.index] = entry.configEntry.defaultValue();
+        }
+        this.timings.addTime(ConfigTimings.Stage.VALIDATE, System.nanoTime() - start);
+    }
+
+    /**
+     * Writes all values, comments and hints back to the config file
+     */
+    private synchronized void writeValues(){
+        long time = System.nanoTime();
 
         this.configFile.clearValues();
 
         for(Map.Entry<String[],String> comment : this.categoryComments)
             this.configFile.setComment(comment.getKey(), comment.getValue());
 
+        long commentTime = System.nanoTime() - time, serializeTime = 0;
         for(Entry<?,S> entry : this.correctSideEntries){
+            time = System.nanoTime();
             this.configFile.setComment(entry.path, entry.configEntry.getComment());
             this.configFile.setAllowedValuesHint(entry.path, entry.configEntry.getAllowedValuesHint());
+            long valueTime = System.nanoTime();
+            commentTime += valueTime - time;
             this.writeEntryValue(entry);
+            serializeTime += System.nanoTime() - valueTime;
+        }
+        this.timings.addTime(ConfigTimings.Stage.COMMENTS, commentTime);
+        this.timings.addTime(ConfigTimings.Stage.SERIALIZE, serializeTime);
+
+        // The file is known to contain exactly these values when they came from the cache
+        if(!this.readFromCache){
+            this.configFile.writeFile();
+            if(ConfigCache.isEnabled()){
+                time = System.nanoTime();
+                this.writeCachedValues();
+                this.timings.addTime(ConfigTimings.Stage.SERIALIZE, System.nanoTime() - time);
+            }
+        }
+
+        time = System.nanoTime();
+        this.configFile.startTrackingFile(this::onFileReloaded);
+        this.timings.addTime(ConfigTimings.Stage.WATCH, System.nanoTime() - time);
+
+        // Only record the initialization
+        this.configFile.setTimings(null);
+    }
+
+    private boolean readCachedValues(){
+        long schemaHash = this.computeSchemaHash();
+        long[] cachedFingerprint = ConfigCache.getFingerprint(this.identifier, schemaHash);
+        if(cachedFingerprint == null)
+            return false;
+        long[] fingerprint = this.configFile.readFingerprint(cachedFingerprint[0], cachedFingerprint[1]);
+        if(fingerprint == null)
+            return false;
+        long start = System.nanoTime();
+        try{
+            byte[][] cachedValues = ConfigCache.get(this.identifier, fingerprint, schemaHash);
+            if(cachedValues == null || cachedValues.length != this.entries.size())
+                return false;
+
+            for(Entry<?,S> entry : this.correctSideEntries){
+                Object value = this.readCachedValue(entry, cachedValues[entry.index]);
+                if(value == null){
+                    Arrays.fill(this.values, null);
+                    return false;
+                }
+                this.values[entry.index] = value;
+            }
+            return true;
+        }finally{
+            this.timings.addTime(ConfigTimings.Stage.VALIDATE, System.nanoTime() - start);
+        }
+    }
+
+    private <T> T readCachedValue(Entry<T,S> entry, byte[] bytes){
+        if(bytes == null)
+            return null;
+        try{
+            T value = entry.configEntry.read(ByteBuffer.wrap(bytes));
+            return value != null && entry.configEntry.validateValue(value) ? value : null;
+        }catch(Exception e){
+            return null;
+        }
+    }
+
+    private void writeCachedValues(){
+        long[] fingerprint = this.configFile.getFingerprint();
+        if(fingerprint == null)
+            return;
+
+        byte[][] cachedValues = new byte[this.entries.size()][];
+        for(Entry<?,S> entry : this.correctSideEntries){
+            cachedValues[entry.index] = this.writeCachedValue(entry);
+            if(cachedValues[entry.index] == null)
+                return;
+        }
+        ConfigCache.put(this.identifier, fingerprint, this.computeSchemaHash(), cachedValues);
+    }
+
+    private <T> byte[] writeCachedValue(Entry<T,S> entry){
+        try{
+            return entry.configEntry.write(entry.cast(this.values[entry.index]));
+        }catch(Exception e){
+            return null;
+        }
+    }
+
+    /**
+     * Hashes everything which affects how values are read from and written to the config file
+     */
+    private long computeSchemaHash(){
+        StringBuilder schema = new StringBuilder();
+        schema.append(ConfigLib.isClientEnvironment()).append('\0');
+        for(Pair<String[],String> comment : this.categoryComments)
+            schema.append(String.join(".", comment.getKey())).append('\0').append(comment.getValue()).append('\0');
+        for(Entry<?,S> entry : this.entries){
+            ConfigEntry<?,S> configEntry = entry.configEntry;
+            schema.append(entry.combinedPath).append('\0')
+                .append(configEntry.getClass().getName()).append('\0')
+                .append(configEntry.defaultValue()).append('\0')
+                .append(configEntry.getComment()).append('\0')
+                .append(configEntry.getAllowedValuesHint()).append('\0')
+                .append(configEntry.isClientOnly()).append(configEntry.isServerOnly())
+                .append(configEntry.requiresGameRestart()).append(configEntry.shouldBeSynced()).append('\0');
+        }
+
+        return hash(schema);
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the UTF-8 bytes of the given text
+     */
+    private static long hash(CharSequence text){
+        long hash = 0xcbf29ce484222325L;
+        for(byte b : text.toString().getBytes(StandardCharsets.UTF_8)){
+            hash ^= b & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Makes the values visible
+     */
+    private synchronized void publishValues(){
+        long start = System.nanoTime();
+        this.publishSnapshot();
+        this.timings.addTime(ConfigTimings.Stage.PUBLISH, System.nanoTime() - start);
+    }
+
+    /**
+     * Waits for the config to be initialized, or initializes it if it is initialized lazily and has not yet been initialized
+     * @return the current snapshot
+     */
+    private Snapshot initializeLazily(){
+        // Wait outside the lock, as the initialization needs it
+        CompletableFuture<Void> initialization = this.initialization;
+        if(initialization != null)
+            initialization.join();
+        synchronized(this){
+            if(this.lazyInitialization && !this.initialized)
+                this.initialize();
+            return this.snapshot;
         }
+    }
 
-        this.configFile.writeFile();
-        this.configFile.startTrackingFile();
+    /**
+     * Waits for the config to be initialized, unless it is initialized lazily
+     */
+    public void awaitInitialization(){
+        CompletableFuture<Void> initialization = this.initialization;
+        if(initialization != null)
+            initialization.join();
+    }
 
-        this.correctSideEntries.forEach(entry -> entry.hasBeenInitialized = true);
+    /**
+     * @return the time spent on each stage of initializing this config
+     */
+    public ConfigTimings getTimings(){
+        return this.timings;
+    }
+
+    public synchronized boolean isInitialized(){
+        return this.initialized;
     }
 
     private void updateValues(){
+        this.notifyListeners(this.readUpdatableValues());
+    }
+
+    /**
+     * Called from the file watcher after the config file has been read again
+     */
+    private void onFileReloaded(){
+        if(!this.liveReload)
+            return;
+
+        Snapshot snapshot;
+        boolean syncableValuesChanged = false;
+        synchronized(this){
+            Object[] previousValues = this.values.clone();
+            snapshot = this.readUpdatableValues();
+            for(Entry<?,S> entry : this.syncableEntries){
+                if(!Objects.equals(previousValues[entry.index], this.values[entry.index])){
+                    syncableValuesChanged = true;
+                    break;
+                }
+            }
+        }
+        this.notifyListeners(snapshot);
+
+        // Send the new values to all players
+        if(syncableValuesChanged)
+            ConfigLib.queueSyncConfig(this);
+    }
+
+    private synchronized Snapshot readUpdatableValues(){
         this.updatableEntries.forEach(this::readEntryValue);
+        return this.publishSnapshot();
     }
 
     private <T> void writeEntryValue(Entry<T,S> entry){
-        S serialized = entry.configEntry.serialize(entry.value);
+        T value = entry.cast(this.values[entry.index]);
+        S serialized = entry.configEntry.serialize(value);
         if(serialized == null)
-            ConfigLib.LOGGER.error("Failed to serialize config value '" + entry.value + "' for '" + String.join(",", entry.path) + "' in config from " + this.modid + "!");
+            ConfigLib.LOGGER.error("Failed to serialize config value '" + value + "' for '" + String.join(",", entry.path) + "' in config from " + this.modid + "!");
         else
             this.configFile.setValue(entry.path, serialized);
     }
@@ -93,16 +444,145 @@ public class ModConfig<S> {
     private <T> void readEntryValue(Entry<T,S> entry){
         S serialized = this.configFile.getValue(entry.path);
         if(serialized == null)
-            entry.value = entry.configEntry.defaultValue();
+            this.values[entry.index] = entry.configEntry.defaultValue();
         else{
             T value = entry.configEntry.deserialize(serialized);
             if(value == null || !entry.configEntry.validateValue(value))
-                entry.value = entry.configEntry.defaultValue();
+                this.values[entry.index] = entry.configEntry.defaultValue();
             else
-                entry.value = value;
+                this.values[entry.index] = value;
         }
     }
 
+    private void bindEntryValue(String[] path, S serialized){
+        long start = System.nanoTime();
+        Entry<?,S> entry = this.entriesByPath.get(String.join(".", path));
+        // Ignore unknown keys and keys which have already been read
+        if(entry != null && this.values[entry.index] == null)
+            this.bindEntryValue(entry, serialized);
+        this.timings.addTime(ConfigTimings.Stage.VALIDATE, System.nanoTime() - start);
+    }
+
+    private <T> void bindEntryValue(Entry<T,S> entry, S serialized){
+        T value = entry.configEntry.deserialize(serialized);
+        if(value != null && entry.configEntry.validateValue(value))
+            this.values[entry.index] = value;
+    }
+
+    /**
+     * Combines the local and synced values into a new snapshot and publishes it
+     */
+    private Snapshot publishSnapshot(){
+        Snapshot previous = this.snapshot;
+        long generation = ++this.generation;
+        Object[] values = new Object[this.entries.size()];
+        long[] primitives = new long[this.entries.size()];
+        long[] generations = new long[this.entries.size()];
+        boolean constantsChanged = false;
+        for(Entry<?,S> entry : this.correctSideEntries){
+            Object value = this.syncedValues[entry.index] != null ? this.syncedValues[entry.index] : this.values[entry.index];
+            values[entry.index] = value;
+            primitives[entry.index] = entry.toPrimitive(value);
+            // Only move the entry's generation forward when its value actually changed
+            boolean changed = previous == null || !Objects.equals(previous.values[entry.index], value);
+            generations[entry.index] = changed ? generation : previous.generations[entry.index];
+            if(changed && entry.callSite != null)
+                constantsChanged = true;
+        }
+        Snapshot snapshot = new Snapshot(this, generation, values, primitives, generations);
+        this.snapshot = snapshot;
+
+        if(constantsChanged){
+            // Invalidating the switch point makes all call sites fall back to reading the snapshot
+            SwitchPoint.invalidateAll(new SwitchPoint[]{this.constantsSwitchPoint});
+            this.constantsSwitchPoint = new SwitchPoint();
+            for(Entry<?,S> entry : this.correctSideEntries){
+                if(entry.callSite != null)
+                    this.installConstant(entry);
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Points the entry's call site to a constant holding its current value
+     */
+    private synchronized void installConstant(Entry<?,S> entry){
+        if(this.snapshot == null || entry.wrongSide)
+            return;
+
+        MethodHandle getter = entry.getter().bindTo(entry);
+        MethodHandle constant = MethodHandles.constant(getter.type().returnType(), this.snapshot.values[entry.index]);
+        entry.callSite.setTarget(this.constantsSwitchPoint.guardWithTest(constant, getter));
+    }
+
+    /**
+     * Adds a listener which gets notified whenever values in this config change
+     * @param entry entry to which the listener should be restricted, or {@code null} to listen to all entries
+     */
+    void addListener(Object entry, IConfigChangeListener listener){
+        this.listeners.add(Pair.of(entry, listener));
+    }
+
+    void setListenerExecutor(Executor executor){
+        this.listenerExecutor = executor;
+    }
+
+    void enableLiveReload(){
+        this.liveReload = true;
+    }
+
+    synchronized void enableLazyInitialization(){
+        this.lazyInitialization = true;
+    }
+
+    public synchronized boolean isInitializedLazily(){
+        return this.lazyInitialization;
+    }
+
+    /**
+     * Notifies listeners of all entries which changed in the given snapshot. Must not be called whilst holding the lock on this config.
+     */
+    private void notifyListeners(Snapshot snapshot){
+        if(this.listeners.isEmpty())
+            return;
+
+        // Collect all entries which changed in this snapshot's generation
+        Set<Object> changedEntries = new HashSet<>();
+        for(Entry<?,S> entry : this.correctSideEntries){
+            if(snapshot.generations[entry.index] == snapshot.generation)
+                changedEntries.add(entry);
+        }
+        if(changedEntries.isEmpty())
+            return;
+
+        Set<Object> unmodifiableChangedEntries = Collections.unmodifiableSet(changedEntries);
+        this.listenerExecutor.execute(() -> {
+            for(Pair<Object,IConfigChangeListener> listener : this.listeners){
+                if(listener.getLeft() != null && !changedEntries.contains(listener.getLeft()))
+                    continue;
+                try{
+                    listener.getRight().onChanged(snapshot, unmodifiableChangedEntries);
+                }catch(Exception e){
+                    ConfigLib.LOGGER.error("Encountered an exception in change listener for config '" + this.identifier + "' from mod '" + this.modid + "'!", e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Gets the most recently published values of this config. The returned snapshot never changes.
+     * @throws IllegalStateException if the config has not yet been initialized
+     */
+    public IConfigSnapshot getSnapshot(){
+        Snapshot snapshot = this.snapshot;
+        if(snapshot == null)
+            snapshot = this.initializeLazily();
+        if(snapshot == null)
+            throw new IllegalStateException("Config has not yet been initialized!");
+        return snapshot;
+    }
+
     public String getModid(){
         return this.modid;
     }
@@ -112,7 +592,12 @@ public class ModConfig<S> {
     }
 
     public void onJoinGame(){
-        this.updateValues();
+        try{
+            this.initializeLazily();
+            this.updateValues();
+        }catch(Exception e){
+            ConfigLib.LOGGER.error("Failed to update values of config '" + this.identifier + "' from mod '" + this.modid + "'!", e);
+        }
     }
 
     public void onLeaveGame(){
@@ -124,10 +609,91 @@ public class ModConfig<S> {
     }
 
     public void writeSyncableEntries(ByteBuf buffer){
-        buffer.writeInt(this.syncableEntries.size());
+        this.writeSyncableEntries(buffer, false);
+    }
+
+    /**
+     * Writes the values of all syncable entries
+     * @param addressByPath whether entries should be identified by their path rather than by their index, for clients whose entries differ from the server's
+     */
+    public void writeSyncableEntries(ByteBuf buffer, boolean addressByPath){
+        this.initializeLazily();
+        synchronized(this){
+            buffer.writeByte(addressByPath ? ConfigSyncPacket.PATH_FORMAT : ConfigSyncPacket.INDEX_FORMAT);
+            // Indicates whether entries which are left out have their default value. The client's defaults may differ
+            // from the server's when entries are identified by their path, thus all entries are written in that case.
+            buffer.writeBoolean(DELTA_SYNC && !addressByPath);
+
+            if(addressByPath){
+                buffer.writeInt(this.syncableEntries.size());
+                for(Entry<?,S> entry : this.syncableEntries)
+                    this.writeSyncableEntry(buffer, entry);
+            }else{
+                buffer.writeLong(this.syncSchemaHash);
+
+                int count = 0;
+                for(Entry<?,S> entry : this.syncableEntries){
+                    if(this.shouldSyncValue(entry))
+                        count++;
+                }
+                ConfigSyncPacket.writeVarInt(buffer, count);
+
+                for(int index = 0; index < this.syncableEntries.size(); index++){
+                    Entry<?,S> entry = this.syncableEntries.get(index);
+                    if(this.shouldSyncValue(entry)){
+                        ConfigSyncPacket.writeVarInt(buffer, index);
+                        entry.writeSyncedValue(buffer, this.values[entry.index]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the config's synced values identified by index, see {@link #getSyncSection(boolean)}
+     */
+    public ByteBuf getSyncSection(){
+        return this.getSyncSection(false);
+    }
+
+    /**
+     * Gets the config's identifier and synced values as encoded for a {@link ConfigSyncPacket}. The values are only encoded
+     * again once they changed, until then the same encoded bytes are shared between all packets.
+     * @param addressByPath whether entries should be identified by their path rather than by their index
+     * @return a read-only buffer, which must be released by the caller
+     */
+    public ByteBuf getSyncSection(boolean addressByPath){
+        this.initializeLazily();
+        synchronized(this){
+            int format = addressByPath ? 1 : 0;
+            if(this.syncSections[format] == null || this.syncSectionGenerations[format] != this.generation){
+                ByteBuf buffer = Unpooled.buffer();
+                try{
+                    ConfigSyncPacket.writeString(buffer, this.identifier);
+                    this.writeSyncableEntries(buffer, addressByPath);
+                }catch(RuntimeException e){
+                    buffer.release();
+                    throw e;
+                }
 
-        for(Entry<?,S> entry : this.syncableEntries)
-            this.writeSyncableEntry(buffer, entry);
+                if(this.syncSections[format] != null)
+                    this.syncSections[format].release();
+                this.syncSections[format] = buffer.asReadOnly();
+                this.syncSectionGenerations[format] = this.generation;
+            }
+            return this.syncSections[format].retainedDuplicate();
+        }
+    }
+
+    /**
+     * @return the generation of the most recently published values
+     */
+    synchronized long getGeneration(){
+        return this.generation;
+    }
+
+    private boolean shouldSyncValue(Entry<?,S> entry){
+        return !DELTA_SYNC || !Objects.equals(this.values[entry.index], entry.configEntry.defaultValue());
     }
 
     private <T> void writeSyncableEntry(ByteBuf buffer, Entry<T,S> entry){
@@ -137,12 +703,7 @@ public class ModConfig<S> {
         buffer.writeBytes(pathBytes);
 
         // Write entry's value
-        byte[] bytes = null;
-        try{
-            bytes = entry.configEntry.write(entry.value);
-        }catch(Exception e){
-            ConfigLib.LOGGER.error("Failed to write synced config value '" + entry.value + "' for '" + String.join(",", entry.path) + "' in config from " + this.modid + "!", e);
-        }
+        byte[] bytes = this.writeSyncableValue(entry, entry.cast(this.values[entry.index]));
         if(bytes == null)
             buffer.writeInt(-1);
         else{
@@ -151,7 +712,70 @@ public class ModConfig<S> {
         }
     }
 
+    private <T> byte[] writeSyncableValue(Entry<T,S> entry, T value){
+        try{
+            return entry.configEntry.write(value);
+        }catch(Exception e){
+            ConfigLib.LOGGER.error("Failed to write synced config value '" + value + "' for '" + String.join(",", entry.path) + "' in config from " + this.modid + "!", e);
+            return null;
+        }
+    }
+
     public void readSyncableValues(ByteBuf buffer){
+        this.initializeLazily();
+        Snapshot snapshot = this.applySyncableValues(buffer);
+        if(snapshot == null){
+            // Entries can't be identified by their index, thus ask the server to identify them by their path
+            ConfigLib.LOGGER.warn("Entries in config '" + this.identifier + "' from mod '" + this.modid + "' differ from the server's, requesting synced values by path");
+            ConfigLib.requestSyncByPath(this);
+            return;
+        }
+        this.notifyListeners(snapshot);
+    }
+
+    /**
+     * @return the new snapshot, or {@code null} if entries are identified by index and the entries differ from the server's
+     */
+    private synchronized Snapshot applySyncableValues(ByteBuf buffer){
+        int format = buffer.readByte();
+        if(format != ConfigSyncPacket.INDEX_FORMAT && format != ConfigSyncPacket.PATH_FORMAT)
+            throw new IllegalArgumentException("Unknown sync format '" + format + "'!");
+        boolean resetOmittedEntries = buffer.readBoolean();
+        if(format == ConfigSyncPacket.INDEX_FORMAT && buffer.readLong() != this.syncSchemaHash)
+            return null;
+
+        // Collect the received values first, such that a partially read packet is never published
+        Object[] syncedValues = this.syncedValues.clone();
+
+        // Reset entries which are left out to their default value
+        if(resetOmittedEntries){
+            for(Entry<?,S> entry : this.syncableEntries)
+                syncedValues[entry.index] = entry.configEntry.defaultValue();
+        }
+
+        if(format == ConfigSyncPacket.INDEX_FORMAT)
+            this.readIndexedEntries(buffer, syncedValues);
+        else
+            this.readPathEntries(buffer, syncedValues);
+
+        System.arraycopy(syncedValues, 0, this.syncedValues, 0, syncedValues.length);
+        return this.publishSnapshot();
+    }
+
+    private void readIndexedEntries(ByteBuf buffer, Object[] syncedValues){
+        int entryCount = ConfigSyncPacket.readVarInt(buffer);
+
+        for(int i = 0; i < entryCount; i++){
+            int index = ConfigSyncPacket.readVarInt(buffer);
+            if(index < 0 || index >= this.syncableEntries.size())
+                throw new IllegalArgumentException("Received synced config value for unknown entry index '" + index + "'!");
+
+            Entry<?,S> entry = this.syncableEntries.get(index);
+            syncedValues[entry.index] = entry.readSyncedValue(buffer);
+        }
+    }
+
+    private void readPathEntries(ByteBuf buffer, Object[] syncedValues){
         int entryCount = buffer.readInt();
 
         for(int i = 0; i < entryCount; i++){
@@ -177,16 +801,14 @@ public class ModConfig<S> {
             }
 
             // Read the entry's value
-            this.readSyncableEntry(valueByteCount < 0 ? null : ByteBuffer.wrap(valueBytes), entry);
+            syncedValues[entry.index] = this.readSyncableEntry(valueByteCount < 0 ? null : ByteBuffer.wrap(valueBytes), entry);
         }
     }
 
-    private <T> void readSyncableEntry(ByteBuffer buffer, Entry<T,S> entry){
+    private <T> T readSyncableEntry(ByteBuffer buffer, Entry<T,S> entry){
         // Set value to default if it failed to write correctly
-        if(buffer == null){
-            entry.syncedValue = entry.configEntry.defaultValue();
-            return;
-        }
+        if(buffer == null)
+            return entry.configEntry.defaultValue();
 
         // Try to read the entry's value
         T value;
@@ -194,37 +816,115 @@ public class ModConfig<S> {
             value = entry.configEntry.read(buffer);
         }catch(Exception e){
             ConfigLib.LOGGER.error("Failed to read synced config value for entry '" + String.join(",", entry.path) + "' in config from " + this.modid + "!", e);
-            entry.syncedValue = entry.configEntry.defaultValue();
-            return;
+            return entry.configEntry.defaultValue();
         }
+        return this.validateSyncedValue(entry, value);
+    }
+
+    private <T> T validateSyncedValue(Entry<T,S> entry, T value){
         if(value == null){
             ConfigLib.LOGGER.error("Failed to read synced config value for entry '" + String.join(",", entry.path) + "' in config from " + this.modid + "!");
-            entry.syncedValue = entry.configEntry.defaultValue();
-            return;
+            return entry.configEntry.defaultValue();
         }
 
         // Validate read value
         if(!entry.configEntry.validateValue(value)){
-            ConfigLib.LOGGER.error("Received invalid synced config value '" + entry.value + "' for entry '" + String.join(",", entry.path) + "' from network in config from " + this.modid + "!");
-            entry.syncedValue = entry.configEntry.defaultValue();
-            return;
+            ConfigLib.LOGGER.error("Received invalid synced config value '" + value + "' for entry '" + String.join(",", entry.path) + "' from network in config from " + this.modid + "!");
+            return entry.configEntry.defaultValue();
         }
 
-        entry.syncedValue = value;
+        return value;
     }
 
     private void clearSyncedValues(){
-        this.syncableEntries.forEach(entry -> entry.syncedValue = null);
+        this.initializeLazily();
+        this.notifyListeners(this.resetSyncedValues());
+    }
+
+    private synchronized Snapshot resetSyncedValues(){
+        Arrays.fill(this.syncedValues, null);
+        return this.publishSnapshot();
     }
 
-    protected static class Entry<T, S> {
+    /**
+     * Immutable view of all values of a config at a single point in time
+     */
+    protected static final class Snapshot implements IConfigSnapshot {
+
+        private final ModConfig<?> config;
+        private final long generation;
+        private final Object[] values;
+        /**
+         * Values of primitive entries, stored such that they can be read without unboxing
+         */
+        private final long[] primitives;
+        /**
+         * Generation in which each entry's value last changed
+         */
+        private final long[] generations;
+
+        private Snapshot(ModConfig<?> config, long generation, Object[] values, long[] primitives, long[] generations){
+            this.config = config;
+            this.generation = generation;
+            this.values = values;
+            this.primitives = primitives;
+            this.generations = generations;
+        }
+
+        private Entry<?,?> checkEntry(Object entry){
+            if(!(entry instanceof Entry) || ((Entry<?,?>)entry).config != this.config)
+                throw new IllegalArgumentException("Entry does not belong to this config!");
+            ((Entry<?,?>)entry).checkSide();
+            return (Entry<?,?>)entry;
+        }
+
+        @Override
+        public long getGeneration(){
+            return this.generation;
+        }
+
+        @Override
+        public long getGeneration(Object entry){
+            return this.generations[this.checkEntry(entry).index];
+        }
+
+        @Override
+        public <T> T get(Supplier<T> entry){
+            this.checkEntry(entry);
+            Entry<T,?> checkedEntry = (Entry<T,?>)entry;
+            return checkedEntry.cast(this.values[checkedEntry.index]);
+        }
+
+        @Override
+        public boolean getBoolean(BooleanSupplier entry){
+            return this.primitives[this.checkEntry(entry).index] != 0;
+        }
+
+        @Override
+        public int getInt(IntSupplier entry){
+            return (int)this.primitives[this.checkEntry(entry).index];
+        }
+
+        @Override
+        public long getLong(LongSupplier entry){
+            return this.primitives[this.checkEntry(entry).index];
+        }
+
+        @Override
+        public double getDouble(DoubleSupplier entry){
+            return Double.longBitsToDouble(this.primitives[this.checkEntry(entry).index]);
+        }
+    }
+
+    protected static class Entry<T, S> implements Supplier<T> {
 
         protected final String[] path;
         protected final String combinedPath;
         protected final ConfigEntry<T,S> configEntry;
-        private boolean hasBeenInitialized;
+        private ModConfig<S> config;
+        private int index;
         private boolean wrongSide;
-        private T value, syncedValue;
+        private volatile MutableCallSite callSite;
 
         Entry(String[] path, ConfigEntry<T,S> configEntry){
             this.path = path;
@@ -232,13 +932,225 @@ public class ModConfig<S> {
             this.configEntry = configEntry;
         }
 
-        public T getValue(){
-            if(!this.hasBeenInitialized)
-                throw new IllegalStateException("Config has not yet been initialized!");
+        @SuppressWarnings("unchecked")
+        private T cast(Object value){
+            return (T)value;
+        }
+
+        /**
+         * Converts the value to the representation which is stored in {@link Snapshot#primitives}
+         */
+        protected long toPrimitive(Object value){
+            return 0;
+        }
+
+        /**
+         * @return an unbound method handle which reads the entry's value
+         */
+        protected MethodHandle getter(){
+            return GET_VALUE;
+        }
+
+        /**
+         * Writes the value for syncing entries by index. Values of primitive types and enums are written directly, any
+         * other values are written through {@link ConfigEntry#write(Object)}.
+         */
+        protected void writeSyncedValue(ByteBuf buffer, Object value){
+            Object defaultValue = this.configEntry.defaultValue();
+            if(defaultValue instanceof Boolean)
+                buffer.writeBoolean((Boolean)value);
+            else if(defaultValue instanceof Integer){
+                int intValue = (Integer)value;
+                ConfigSyncPacket.writeVarInt(buffer, (intValue << 1) ^ (intValue >> 31));
+            }else if(defaultValue instanceof Long){
+                long longValue = (Long)value;
+                ConfigSyncPacket.writeVarLong(buffer, (longValue << 1) ^ (longValue >> 63));
+            }else if(defaultValue instanceof Double)
+                buffer.writeDouble((Double)value);
+            else if(defaultValue instanceof Enum)
+                ConfigSyncPacket.writeVarInt(buffer, ((Enum<?>)value).ordinal());
+            else
+                this.writeSyncedBytes(buffer, value);
+        }
+
+        private void writeSyncedBytes(ByteBuf buffer, Object value){
+            byte[] bytes = this.config.writeSyncableValue(this, this.cast(value));
+            // A length of zero indicates the value failed to write
+            ConfigSyncPacket.writeVarInt(buffer, bytes == null ? 0 : bytes.length + 1);
+            if(bytes != null)
+                buffer.writeBytes(bytes);
+        }
+
+        /**
+         * Reads a value written by {@link #writeSyncedValue(ByteBuf, Object)}
+         * @return the read value, or the default value if the value is invalid
+         */
+        protected Object readSyncedValue(ByteBuf buffer){
+            Object defaultValue = this.configEntry.defaultValue();
+            Object value;
+            if(defaultValue instanceof Boolean)
+                value = buffer.readBoolean();
+            else if(defaultValue instanceof Integer){
+                int intValue = ConfigSyncPacket.readVarInt(buffer);
+                value = (intValue >>> 1) ^ -(intValue & 1);
+            }else if(defaultValue instanceof Long){
+                long longValue = ConfigSyncPacket.readVarLong(buffer);
+                value = (longValue >>> 1) ^ -(longValue & 1);
+            }else if(defaultValue instanceof Double)
+                value = buffer.readDouble();
+            else if(defaultValue instanceof Enum){
+                Object[] constants = ((Enum<?>)defaultValue).getDeclaringClass().getEnumConstants();
+                int ordinal = ConfigSyncPacket.readVarInt(buffer);
+                value = ordinal >= 0 && ordinal < constants.length ? constants[ordinal] : null;
+            }else
+                return this.readSyncedBytes(buffer);
+            return this.validateSyncedValue(this.cast(value));
+        }
+
+        private Object readSyncedBytes(ByteBuf buffer){
+            int length = ConfigSyncPacket.readVarInt(buffer) - 1;
+            if(length > buffer.readableBytes())
+                throw new IllegalArgumentException("Received synced config value for entry '" + this.combinedPath + "' with invalid length '" + length + "'!");
+            byte[] bytes = length < 0 ? null : new byte[length];
+            if(bytes != null)
+                buffer.readBytes(bytes);
+            return this.config.readSyncableEntry(bytes == null ? null : ByteBuffer.wrap(bytes), this);
+        }
+
+        /**
+         * Gets a method handle which returns the entry's value and can be constant-folded by the JIT
+         */
+        MethodHandle getConstantHandle(){
+            synchronized(this){
+                if(this.callSite == null){
+                    MethodHandle getter = this.getter().bindTo(this);
+                    this.callSite = new MutableCallSite(getter);
+                }
+            }
+            if(this.config != null)
+                this.config.installConstant(this);
+            return this.callSite.dynamicInvoker();
+        }
+
+        protected final T validateSyncedValue(T value){
+            return this.config.validateSyncedValue(this, value);
+        }
+
+        private void checkSide(){
             if(this.wrongSide)
                 throw new IllegalStateException("Entry " + String.join(".", this.path) + " is " + (this.configEntry.isClientOnly() ? "client" : "server") + " side only!");
+        }
+
+        private Snapshot getSnapshot(){
+            Snapshot snapshot = this.config == null ? null : this.config.snapshot;
+            // Only take the lock when the config has not been initialized yet
+            if(snapshot == null && this.config != null)
+                snapshot = this.config.initializeLazily();
+            if(snapshot == null)
+                throw new IllegalStateException("Config has not yet been initialized!");
+            this.checkSide();
+            return snapshot;
+        }
+
+        protected final long getPrimitive(){
+            return this.getSnapshot().primitives[this.index];
+        }
+
+        public T getValue(){
+            return this.cast(this.getSnapshot().values[this.index]);
+        }
+
+        @Override
+        public T get(){
+            return this.getValue();
+        }
+    }
+
+    protected static class BooleanEntry<S> extends Entry<Boolean,S> implements BooleanSupplier {
+
+        BooleanEntry(String[] path, ConfigEntry<Boolean,S> configEntry){
+            super(path, configEntry);
+        }
+
+        @Override
+        protected MethodHandle getter(){
+            return GET_AS_BOOLEAN;
+        }
+
+        @Override
+        protected long toPrimitive(Object value){
+            return (Boolean)value ? 1 : 0;
+        }
+
+        @Override
+        public boolean getAsBoolean(){
+            return this.getPrimitive() != 0;
+        }
+    }
+
+    protected static class IntEntry<S> extends Entry<Integer,S> implements IntSupplier {
+
+        IntEntry(String[] path, ConfigEntry<Integer,S> configEntry){
+            super(path, configEntry);
+        }
+
+        @Override
+        protected MethodHandle getter(){
+            return GET_AS_INT;
+        }
+
+        @Override
+        protected long toPrimitive(Object value){
+            return (Integer)value;
+        }
+
+        @Override
+        public int getAsInt(){
+            return (int)this.getPrimitive();
+        }
+    }
+
+    protected static class LongEntry<S> extends Entry<Long,S> implements LongSupplier {
+
+        LongEntry(String[] path, ConfigEntry<Long,S> configEntry){
+            super(path, configEntry);
+        }
+
+        @Override
+        protected MethodHandle getter(){
+            return GET_AS_LONG;
+        }
+
+        @Override
+        protected long toPrimitive(Object value){
+            return (Long)value;
+        }
+
+        @Override
+        public long getAsLong(){
+            return this.getPrimitive();
+        }
+    }
+
+    protected static class DoubleEntry<S> extends Entry<Double,S> implements DoubleSupplier {
+
+        DoubleEntry(String[] path, ConfigEntry<Double,S> configEntry){
+            super(path, configEntry);
+        }
+
+        @Override
+        protected MethodHandle getter(){
+            return GET_AS_DOUBLE;
+        }
+
+        @Override
+        protected long toPrimitive(Object value){
+            return Double.doubleToRawLongBits((Double)value);
+        }
 
-            return this.syncedValue != null ? this.syncedValue : this.value;
+        @Override
+        public double getAsDouble(){
+            return Double.longBitsToDouble(this.getPrimitive());
         }
     }
 
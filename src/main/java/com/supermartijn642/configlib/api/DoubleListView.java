@@ -0,0 +1,68 @@
+package com.supermartijn642.configlib.api;
+
+import java.util.Arrays;
+import java.util.stream.DoubleStream;
+
+/**
+ * Read-only list of {@code double} values, backed by a {@code double[]}. The
+ * values can be read without boxing through {@link #getDouble(int)}.
+ * Instances are returned by
+ * {@link IConfigBuilder#defineDoubleList(String, double[], double, double)}.
+ * @author agent
+ * @date 17/10/2026
+ */
+public final class DoubleListView extends PrimitiveListView<Double> {
+
+    private static final DoubleListView EMPTY = new DoubleListView(new double[0]);
+
+    /**
+     * Creates a view of a copy of the given values
+     */
+    public static DoubleListView of(double... values){
+        return values.length == 0 ? EMPTY : new DoubleListView(values.clone());
+    }
+
+    private final double[] values;
+
+    private DoubleListView(double[] values){
+        super(values);
+        this.values = values;
+    }
+
+    public double getDouble(int index){
+        return this.values[index];
+    }
+
+    @Override
+    public Double get(int index){
+        return this.values[index];
+    }
+
+    public boolean contains(double value){
+        for(double v : this.values)
+            if(Double.compare(v, value) == 0)
+                return true;
+        return false;
+    }
+
+    /**
+     * @return a copy of the values
+     */
+    public double[] toDoubleArray(){
+        return this.values.clone();
+    }
+
+    public DoubleStream streamDoubles(){
+        return Arrays.stream(this.values);
+    }
+
+    @Override
+    Object values(){
+        return this.values;
+    }
+
+    @Override
+    public int hashCode(){
+        return Arrays.hashCode(this.values);
+    }
+}
@@ -1,6 +1,9 @@
 package com.supermartijn642.configlib.api;
 
-import java.util.function.Supplier;
+import java.lang.invoke.MethodHandle;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.*;
 
 /**
  * Created 25/03/2022 by SuperMartijn642
@@ -93,6 +96,20 @@ public interface IConfigBuilder {
      */
     Supplier<Boolean> define(String key, boolean defaultValue);
 
+    /**
+     * Creates a boolean config entry with the given key. Unlike
+     * {@link #define(String, boolean)}, the entry's value is stored and
+     * returned as a primitive, which avoids unboxing on every read.
+     * @param key          key for the entry
+     * @param defaultValue default value of the entry
+     * @return a {@link BooleanSupplier} from which the entry's value can be
+     * obtained
+     * @throws IllegalArgumentException if {@code key} is null or empty or
+     *                                  contains syntax characters for the
+     *                                  config format
+     */
+    BooleanSupplier defineBoolean(String key, boolean defaultValue);
+
     /**
      * Creates an integer config entry with the given key
      * @param key          key for the entry
@@ -109,6 +126,24 @@ public interface IConfigBuilder {
      */
     Supplier<Integer> define(String key, int defaultValue, int minValue, int maxValue);
 
+    /**
+     * Creates an integer config entry with the given key. Unlike
+     * {@link #define(String, int, int, int)}, the entry's value is stored
+     * and returned as a primitive, which avoids unboxing on every read.
+     * @param key          key for the entry
+     * @param defaultValue default value of the entry
+     * @param minValue     minimum value of the entry
+     * @param maxValue     maximum value of the entry
+     * @return a {@link IntSupplier} from which the entry's value can be
+     * obtained
+     * @throws IllegalArgumentException if {@code key} is null or empty or
+     *                                  contains syntax characters for the
+     *                                  config format,
+     *                                  if {@code defaultValue < minValue} or
+     *                                  {@code defaultValue > maxValue}
+     */
+    IntSupplier defineInt(String key, int defaultValue, int minValue, int maxValue);
+
     /**
      * Creates a long config entry with the given key
      * @param key          key for the entry
@@ -125,6 +160,24 @@ public interface IConfigBuilder {
      */
     Supplier<Long> define(String key, long defaultValue, long minValue, long maxValue);
 
+    /**
+     * Creates a long config entry with the given key. Unlike
+     * {@link #define(String, long, long, long)}, the entry's value is stored
+     * and returned as a primitive, which avoids unboxing on every read.
+     * @param key          key for the entry
+     * @param defaultValue default value of the entry
+     * @param minValue     minimum value of the entry
+     * @param maxValue     maximum value of the entry
+     * @return a {@link LongSupplier} from which the entry's value can be
+     * obtained
+     * @throws IllegalArgumentException if {@code key} is null or empty or
+     *                                  contains syntax characters for the
+     *                                  config format,
+     *                                  if {@code defaultValue < minValue} or
+     *                                  {@code defaultValue > maxValue}
+     */
+    LongSupplier defineLong(String key, long defaultValue, long minValue, long maxValue);
+
     /**
      * Creates a double config entry with the given key
      * @param key          key for the entry
@@ -141,6 +194,24 @@ public interface IConfigBuilder {
      */
     Supplier<Double> define(String key, double defaultValue, double minValue, double maxValue);
 
+    /**
+     * Creates a double config entry with the given key. Unlike
+     * {@link #define(String, double, double, double)}, the entry's value is stored
+     * and returned as a primitive, which avoids unboxing on every read.
+     * @param key          key for the entry
+     * @param defaultValue default value of the entry
+     * @param minValue     minimum value of the entry
+     * @param maxValue     maximum value of the entry
+     * @return a {@link DoubleSupplier} from which the entry's value can be
+     * obtained
+     * @throws IllegalArgumentException if {@code key} is null or empty or
+     *                                  contains syntax characters for the
+     *                                  config format,
+     *                                  if {@code defaultValue < minValue} or
+     *                                  {@code defaultValue > maxValue}
+     */
+    DoubleSupplier defineDouble(String key, double defaultValue, double minValue, double maxValue);
+
     /**
      * Creates an enum config entry with the given key
      * @param <T>          the enum type
@@ -174,6 +245,199 @@ public interface IConfigBuilder {
      */
     Supplier<String> define(String key, String defaultValue, int minLength, int maxLength);
 
+    /**
+     * Creates an int list config entry with the given key. The list is
+     * stored as an array in the config file.
+     * @param key          key for the entry
+     * @param defaultValue default values of the entry
+     * @param minValue     minimum value of the entry's elements
+     * @param maxValue     maximum value of the entry's elements
+     * @return a {@link Supplier Supplier&lt;IntListView&gt;} from which the
+     * entry's values can be obtained
+     * @throws IllegalArgumentException if {@code key} is null or empty or
+     *                                  contains syntax characters for the
+     *                                  config format,
+     *                                  if {@code defaultValue} is {@code null},
+     *                                  if any of the default values is smaller
+     *                                  than {@code minValue} or larger than
+     *                                  {@code maxValue}
+     */
+    Supplier<IntListView> defineIntList(String key, int[] defaultValue, int minValue, int maxValue);
+
+    /**
+     * Creates a long list config entry with the given key. The list is
+     * stored as an array in the config file.
+     * @param key          key for the entry
+     * @param defaultValue default values of the entry
+     * @param minValue     minimum value of the entry's elements
+     * @param maxValue     maximum value of the entry's elements
+     * @return a {@link Supplier Supplier&lt;LongListView&gt;} from which the
+     * entry's values can be obtained
+     * @throws IllegalArgumentException if {@code key} is null or empty or
+     *                                  contains syntax characters for the
+     *                                  config format,
+     *                                  if {@code defaultValue} is {@code null},
+     *                                  if any of the default values is smaller
+     *                                  than {@code minValue} or larger than
+     *                                  {@code maxValue}
+     */
+    Supplier<LongListView> defineLongList(String key, long[] defaultValue, long minValue, long maxValue);
+
+    /**
+     * Creates a double list config entry with the given key. The list is
+     * stored as an array in the config file.
+     * @param key          key for the entry
+     * @param defaultValue default values of the entry
+     * @param minValue     minimum value of the entry's elements
+     * @param maxValue     maximum value of the entry's elements
+     * @return a {@link Supplier Supplier&lt;DoubleListView&gt;} from which the
+     * entry's values can be obtained
+     * @throws IllegalArgumentException if {@code key} is null or empty or
+     *                                  contains syntax characters for the
+     *                                  config format,
+     *                                  if {@code defaultValue} is {@code null},
+     *                                  if any of the default values is smaller
+     *                                  than {@code minValue} or larger than
+     *                                  {@code maxValue}
+     */
+    Supplier<DoubleListView> defineDoubleList(String key, double[] defaultValue, double minValue, double maxValue);
+
+    /**
+     * Creates a string list config entry with the given key. The list is
+     * stored as an array in the config file.
+     * @param key          key for the entry
+     * @param defaultValue default values of the entry
+     * @param minLength    minimum length of the entry's elements
+     * @param maxLength    maximum length of the entry's elements
+     * @return a {@link Supplier Supplier&lt;List&lt;String&gt;&gt;} from which
+     * the entry's values can be obtained, the returned lists can not be
+     * modified
+     * @throws IllegalArgumentException if {@code key} is null or empty or
+     *                                  contains syntax characters for the
+     *                                  config format,
+     *                                  if {@code defaultValue} is {@code null}
+     *                                  or contains {@code null},
+     *                                  if the length of any of the default
+     *                                  values is smaller than {@code minLength}
+     *                                  or larger than {@code maxLength}
+     */
+    Supplier<List<String>> defineStringList(String key, List<String> defaultValue, int minLength, int maxLength);
+
+    /**
+     * Registers a listener which is notified whenever values in the config
+     * change. Changes are delivered once per reload, sync or reset of synced
+     * values, together with all entries which changed in that batch. The
+     * listener is not notified when the config is first initialized.
+     * @param listener listener to be notified
+     * @return a reference to this builder
+     * @throws IllegalArgumentException if {@code listener} is null
+     * @see #listenerExecutor(Executor)
+     */
+    IConfigBuilder onChange(IConfigChangeListener listener);
+
+    /**
+     * Registers a listener which is notified whenever the value of the given
+     * entry changes. The listener is notified at most once per batch and
+     * receives all entries which changed in that batch.
+     * @param entry    supplier returned by one of the define methods of this
+     *                 builder
+     * @param listener listener to be notified
+     * @return a reference to this builder
+     * @throws IllegalArgumentException if {@code entry} or {@code listener}
+     *                                  is null, if {@code entry} does not
+     *                                  belong to this builder
+     * @see #listenerExecutor(Executor)
+     */
+    IConfigBuilder onChange(Object entry, IConfigChangeListener listener);
+
+    /**
+     * Sets the executor on which change listeners are notified. By default,
+     * listeners are notified directly on the thread which applied the change,
+     * that may be the main thread, the client thread or a network thread.
+     * @param executor executor to dispatch notifications on
+     * @return a reference to this builder
+     * @throws IllegalArgumentException if {@code executor} is null
+     */
+    IConfigBuilder listenerExecutor(Executor executor);
+
+    /**
+     * Makes changes to the config file be applied as soon as the file is
+     * changed, rather than the next time a world is loaded. Only entries
+     * which do not require a game restart are reloaded. On a server, changed
+     * synced entries are sent to all players on the next server tick.
+     * @return a reference to this builder
+     */
+    IConfigBuilder liveReload();
+
+    /**
+     * Delays reading the config file until one of the config's values is
+     * first requested, or at the latest until a world is loaded. Configs
+     * which are only read late or not at all then no longer slow down the
+     * game's startup.
+     * @return a reference to this builder
+     */
+    IConfigBuilder lazyInitialization();
+
+    /**
+     * Creates a method handle which returns the value of the given entry. As
+     * long as the entry's value does not change, the JIT can treat the value
+     * as a constant when the handle is stored in a {@code static final} field.
+     * Once the value is reloaded or synced, code using the old value is
+     * invalidated.
+     * <p>
+     * The handle takes no arguments and returns a {@code boolean},
+     * {@code int}, {@code long} or {@code double} for entries created through
+     * {@link #defineBoolean(String, boolean)},
+     * {@link #defineInt(String, int, int, int)},
+     * {@link #defineLong(String, long, long, long)} and
+     * {@link #defineDouble(String, double, double, double)} respectively, and
+     * an {@link Object} for all other entries. Thus, it can be invoked like
+     * {@code (int)HANDLE.invokeExact()}. Invoking the handle throws the same
+     * exceptions as the entry's supplier.
+     * @param entry supplier returned by one of the define methods of this
+     *              builder
+     * @return a {@link MethodHandle} returning the entry's value
+     * @throws IllegalArgumentException if {@code entry} is null or does not
+     *                                  belong to this builder
+     */
+    MethodHandle constantHandle(Object entry);
+
+    /**
+     * Gives access to consistent views of the config's values. Each
+     * {@link IConfigSnapshot} obtained from the returned supplier holds the
+     * values of all entries at a single point in time, thus several entries
+     * can be read from it without seeing a partially applied reload or sync.
+     * @return a {@link Supplier Supplier&lt;IConfigSnapshot&gt;} which returns
+     * the config's most recent snapshot, the supplier throws an
+     * {@link IllegalStateException} if the config has not yet been initialized
+     */
+    Supplier<IConfigSnapshot> snapshot();
+
+    /**
+     * Creates a value derived from the config's values. The value is only
+     * recomputed when the config's generation changes, see
+     * {@link IConfigSnapshot#getGeneration()}.
+     * @param computation computes the derived value from a snapshot of the
+     *                    config
+     * @return a {@link Memoized} holding the derived value
+     */
+    default <T> Memoized<T> memoize(Function<IConfigSnapshot,T> computation){
+        return new Memoized<>(this.snapshot(), IConfigSnapshot::getGeneration, computation);
+    }
+
+    /**
+     * Creates a value derived from a single entry. The value is only
+     * recomputed when the entry's value changes, see
+     * {@link IConfigSnapshot#getGeneration(Object)}.
+     * @param entry       supplier returned by one of the define methods of
+     *                    this builder
+     * @param computation computes the derived value from the entry's value
+     * @return a {@link Memoized} holding the derived value
+     */
+    default <T, R> Memoized<R> memoize(Supplier<T> entry, Function<T,R> computation){
+        return new Memoized<>(this.snapshot(), snapshot -> snapshot.getGeneration(entry), snapshot -> computation.apply(snapshot.get(entry)));
+    }
+
     /**
      * Completes the config. After this call, no new entries may be defined
      * and entries suppliers can safely be called
@@ -0,0 +1,24 @@
+package com.supermartijn642.configlib.api;
+
+import java.util.Set;
+
+/**
+ * Receives changes to a config's values. Listeners can be registered through
+ * {@link IConfigBuilder#onChange(IConfigChangeListener)} and
+ * {@link IConfigBuilder#onChange(Object, IConfigChangeListener)}.
+ * @author agent
+ * @date 17/10/2026
+ * @see IConfigBuilder
+ */
+@FunctionalInterface
+public interface IConfigChangeListener {
+
+    /**
+     * Called once after a batch of changes has been applied to the config
+     * @param snapshot       snapshot holding the config's values after the
+     *                       changes
+     * @param changedEntries the suppliers, as returned by the define methods,
+     *                       of all entries whose value changed
+     */
+    void onChanged(IConfigSnapshot snapshot, Set<Object> changedEntries);
+}
@@ -0,0 +1,90 @@
+package com.supermartijn642.configlib.api;
+
+import java.util.function.*;
+
+/**
+ * Holds the values of all entries in a config at a single point in time.
+ * A snapshot never changes, a reload or sync instead publishes a new snapshot.
+ * Snapshots can be obtained through {@link IConfigBuilder#snapshot()}.
+ * @author agent
+ * @date 17/10/2026
+ * @see IConfigBuilder
+ */
+public interface IConfigSnapshot {
+
+    /**
+     * Gets the generation of this snapshot. The generation starts at 1 when
+     * the config is initialized and increases every time the config's values
+     * are reloaded, synced or reset after leaving a world.
+     * @return the generation of this snapshot
+     */
+    long getGeneration();
+
+    /**
+     * Gets the generation in which the given entry's value last changed. The
+     * generation only increases when a new snapshot actually holds a
+     * different value for the entry.
+     * @param entry supplier returned by one of the define methods of the config
+     * @return the generation in which the entry's value last changed
+     * @throws IllegalArgumentException if {@code entry} does not belong to this
+     *                                  snapshot's config
+     * @throws IllegalStateException    if the entry is not available on this
+     *                                  side
+     */
+    long getGeneration(Object entry);
+
+    /**
+     * Gets the value of the given entry in this snapshot
+     * @param entry supplier returned by one of the define methods of the config
+     * @return the entry's value
+     * @throws IllegalArgumentException if {@code entry} does not belong to this
+     *                                  snapshot's config
+     * @throws IllegalStateException    if the entry is not available on this
+     *                                  side
+     */
+    <T> T get(Supplier<T> entry);
+
+    /**
+     * Gets the value of the given entry in this snapshot
+     * @param entry supplier returned by {@link IConfigBuilder#defineBoolean(String, boolean)}
+     * @return the entry's value
+     * @throws IllegalArgumentException if {@code entry} does not belong to this
+     *                                  snapshot's config
+     * @throws IllegalStateException    if the entry is not available on this
+     *                                  side
+     */
+    boolean getBoolean(BooleanSupplier entry);
+
+    /**
+     * Gets the value of the given entry in this snapshot
+     * @param entry supplier returned by {@link IConfigBuilder#defineInt(String, int, int, int)}
+     * @return the entry's value
+     * @throws IllegalArgumentException if {@code entry} does not belong to this
+     *                                  snapshot's config
+     * @throws IllegalStateException    if the entry is not available on this
+     *                                  side
+     */
+    int getInt(IntSupplier entry);
+
+    /**
+     * Gets the value of the given entry in this snapshot
+     * @param entry supplier returned by {@link IConfigBuilder#defineLong(String, long, long, long)}
+     * @return the entry's value
+     * @throws IllegalArgumentException if {@code entry} does not belong to this
+     *                                  snapshot's config
+     * @throws IllegalStateException    if the entry is not available on this
+     *                                  side
+     */
+    long getLong(LongSupplier entry);
+
+    /**
+     * Gets the value of the given entry in this snapshot
+     * @param entry supplier returned by {@link IConfigBuilder#defineDouble(String, double, double, double)}
+     * @return the entry's value
+     * @throws IllegalArgumentException if {@code entry} does not belong to this
+     *                                  snapshot's config
+     * @throws IllegalStateException    if the entry is not available on this
+     *                                  side
+     */
+    double getDouble(DoubleSupplier entry);
+}
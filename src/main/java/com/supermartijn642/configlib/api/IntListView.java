@@ -0,0 +1,68 @@
+package com.supermartijn642.configlib.api;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Read-only list of {@code int} values, backed by a {@code int[]}. The
+ * values can be read without boxing through {@link #getInt(int)}.
+ * Instances are returned by
+ * {@link IConfigBuilder#defineIntList(String, int[], int, int)}.
+ * @author agent
+ * @date 17/10/2026
+ */
+public final class IntListView extends PrimitiveListView<Integer> {
+
+    private static final IntListView EMPTY = new IntListView(new int[0]);
+
+    /**
+     * Creates a view of a copy of the given values
+     */
+    public static IntListView of(int... values){
+        return values.length == 0 ? EMPTY : new IntListView(values.clone());
+    }
+
+    private final int[] values;
+
+    private IntListView(int[] values){
+        super(values);
+        this.values = values;
+    }
+
+    public int getInt(int index){
+        return this.values[index];
+    }
+
+    @Override
+    public Integer get(int index){
+        return this.values[index];
+    }
+
+    public boolean contains(int value){
+        for(int v : this.values)
+            if(v == value)
+                return true;
+        return false;
+    }
+
+    /**
+     * @return a copy of the values
+     */
+    public int[] toIntArray(){
+        return this.values.clone();
+    }
+
+    public IntStream streamInts(){
+        return Arrays.stream(this.values);
+    }
+
+    @Override
+    Object values(){
+        return this.values;
+    }
+
+    @Override
+    public int hashCode(){
+        return Arrays.hashCode(this.values);
+    }
+}
@@ -0,0 +1,68 @@
+package com.supermartijn642.configlib.api;
+
+import java.util.Arrays;
+import java.util.stream.LongStream;
+
+/**
+ * Read-only list of {@code long} values, backed by a {@code long[]}. The
+ * values can be read without boxing through {@link #getLong(int)}.
+ * Instances are returned by
+ * {@link IConfigBuilder#defineLongList(String, long[], long, long)}.
+ * @author agent
+ * @date 17/10/2026
+ */
+public final class LongListView extends PrimitiveListView<Long> {
+
+    private static final LongListView EMPTY = new LongListView(new long[0]);
+
+    /**
+     * Creates a view of a copy of the given values
+     */
+    public static LongListView of(long... values){
+        return values.length == 0 ? EMPTY : new LongListView(values.clone());
+    }
+
+    private final long[] values;
+
+    private LongListView(long[] values){
+        super(values);
+        this.values = values;
+    }
+
+    public long getLong(int index){
+        return this.values[index];
+    }
+
+    @Override
+    public Long get(int index){
+        return this.values[index];
+    }
+
+    public boolean contains(long value){
+        for(long v : this.values)
+            if(v == value)
+                return true;
+        return false;
+    }
+
+    /**
+     * @return a copy of the values
+     */
+    public long[] toLongArray(){
+        return this.values.clone();
+    }
+
+    public LongStream streamLongs(){
+        return Arrays.stream(this.values);
+    }
+
+    @Override
+    Object values(){
+        return this.values;
+    }
+
+    @Override
+    public int hashCode(){
+        return Arrays.hashCode(this.values);
+    }
+}
@@ -0,0 +1,59 @@
+package com.supermartijn642.configlib.api;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Caches a value derived from a config's values and only recomputes it after
+ * the config's values changed. Instances can be obtained from
+ * {@link IConfigBuilder#memoize(Function)} and
+ * {@link IConfigBuilder#memoize(Supplier, Function)}.
+ * @author agent
+ * @date 17/10/2026
+ * @see IConfigSnapshot#getGeneration()
+ */
+public final class Memoized<T> implements Supplier<T> {
+
+    private final Supplier<IConfigSnapshot> snapshots;
+    private final ToLongFunction<IConfigSnapshot> generation;
+    private final Function<IConfigSnapshot,T> computation;
+    private volatile Computed<T> computed;
+
+    Memoized(Supplier<IConfigSnapshot> snapshots, ToLongFunction<IConfigSnapshot> generation, Function<IConfigSnapshot,T> computation){
+        this.snapshots = snapshots;
+        this.generation = generation;
+        this.computation = computation;
+    }
+
+    /**
+     * Gets the derived value, recomputing it only if the config's values
+     * changed since it was last computed
+     * @return the derived value
+     * @throws IllegalStateException if the config has not yet been initialized
+     */
+    @Override
+    public T get(){
+        IConfigSnapshot snapshot = this.snapshots.get();
+        long generation = this.generation.applyAsLong(snapshot);
+        Computed<T> computed = this.computed;
+        if(computed != null && computed.generation == generation)
+            return computed.value;
+
+        // Compute from the same snapshot the generation was taken from
+        T value = this.computation.apply(snapshot);
+        this.computed = new Computed<>(generation, value);
+        return value;
+    }
+
+    private static final class Computed<T> {
+
+        private final long generation;
+        private final T value;
+
+        private Computed(long generation, T value){
+            this.generation = generation;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.supermartijn642.configlib.api;
+
+import java.lang.reflect.Array;
+import java.util.AbstractList;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Shared base of the read-only lists backed by a primitive array, such as
+ * {@link IntListView}. Implementations only need to expose their backing
+ * array and provide typed access to its values.
+ * @author agent
+ * @date 17/10/2026
+ */
+abstract class PrimitiveListView<T> extends AbstractList<T> implements RandomAccess {
+
+    private final int size;
+
+    PrimitiveListView(Object values){
+        this.size = Array.getLength(values);
+    }
+
+    /**
+     * @return the backing array, which must not be modified
+     */
+    abstract Object values();
+
+    @Override
+    public int size(){
+        return this.size;
+    }
+
+    @Override
+    public boolean equals(Object o){
+        if(o != null && o.getClass() == this.getClass())
+            return Objects.deepEquals(this.values(), ((PrimitiveListView<?>)o).values());
+        return super.equals(o);
+    }
+}
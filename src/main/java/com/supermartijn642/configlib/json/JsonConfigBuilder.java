@@ -3,9 +3,15 @@ package com.supermartijn642.configlib.json;
 import com.google.gson.JsonElement;
 import com.supermartijn642.configlib.BaseConfigBuilder;
 import com.supermartijn642.configlib.ConfigFile;
+import com.supermartijn642.configlib.api.DoubleListView;
+import com.supermartijn642.configlib.api.IntListView;
+import com.supermartijn642.configlib.api.LongListView;
 
 import java.io.File;
-import java.util.function.Supplier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.*;
 
 /**
  * Created 24/03/2022 by SuperMartijn642
@@ -28,89 +34,174 @@ public class JsonConfigBuilder extends BaseConfigBuilder<JsonElement> {
 
     @Override
     public Supplier<Boolean> define(String key, boolean defaultValue){
-        if(key == null)
-            throw new IllegalArgumentException("Key must not be null!");
-        if(key.isEmpty())
-            throw new IllegalArgumentException("Key must not be empty!");
-        for(String characters : this.getIllegalCharacters())
-            if(key.contains(characters))
-                throw new IllegalArgumentException("Key must not contain character '" + characters + "'!");
+        JsonBooleanConfigEntry entry = this.createBooleanEntry(key, defaultValue);
+        return this.addEntry(this.getPath(key), entry);
+    }
 
-        JsonBooleanConfigEntry entry = new JsonBooleanConfigEntry(defaultValue, this.shouldBeSynced, this.requiresGameRestart, this.isClientOnly, this.isServerOnly, this.comment);
+    @Override
+    public BooleanSupplier defineBoolean(String key, boolean defaultValue){
+        JsonBooleanConfigEntry entry = this.createBooleanEntry(key, defaultValue);
+        return this.addBooleanEntry(this.getPath(key), entry);
+    }
+
+    @Override
+    public Supplier<Integer> define(String key, int defaultValue, int minValue, int maxValue){
+        JsonIntegerConfigEntry entry = this.createIntegerEntry(key, defaultValue, minValue, maxValue);
+        return this.addEntry(this.getPath(key), entry);
+    }
+
+    @Override
+    public IntSupplier defineInt(String key, int defaultValue, int minValue, int maxValue){
+        JsonIntegerConfigEntry entry = this.createIntegerEntry(key, defaultValue, minValue, maxValue);
+        return this.addIntEntry(this.getPath(key), entry);
+    }
+
+    @Override
+    public Supplier<Long> define(String key, long defaultValue, long minValue, long maxValue){
+        JsonLongConfigEntry entry = this.createLongEntry(key, defaultValue, minValue, maxValue);
+        return this.addEntry(this.getPath(key), entry);
+    }
+
+    @Override
+    public LongSupplier defineLong(String key, long defaultValue, long minValue, long maxValue){
+        JsonLongConfigEntry entry = this.createLongEntry(key, defaultValue, minValue, maxValue);
+        return this.addLongEntry(this.getPath(key), entry);
+    }
+
+    @Override
+    public Supplier<Double> define(String key, double defaultValue, double minValue, double maxValue){
+        JsonDoubleConfigEntry entry = this.createDoubleEntry(key, defaultValue, minValue, maxValue);
+        return this.addEntry(this.getPath(key), entry);
+    }
+
+    @Override
+    public DoubleSupplier defineDouble(String key, double defaultValue, double minValue, double maxValue){
+        JsonDoubleConfigEntry entry = this.createDoubleEntry(key, defaultValue, minValue, maxValue);
+        return this.addDoubleEntry(this.getPath(key), entry);
+    }
+
+    @Override
+    public <T extends Enum<T>> Supplier<T> define(String key, T defaultValue){
+        this.checkKey(key);
+        if(defaultValue == null)
+            throw new IllegalArgumentException("Default value must not be null!");
+
+        JsonEnumConfigEntry<T> entry = new JsonEnumConfigEntry<>(defaultValue, this.shouldBeSynced, this.requiresGameRestart, this.isClientOnly, this.isServerOnly, this.comment);
         this.resetState();
         return this.addEntry(this.getPath(key), entry);
     }
 
     @Override
-    public Supplier<Integer> define(String key, int defaultValue, int minValue, int maxValue){
-        if(key == null)
-            throw new IllegalArgumentException("Key must not be null!");
-        if(key.isEmpty())
-            throw new IllegalArgumentException("Key must not be empty!");
-        for(String characters : this.getIllegalCharacters())
-            if(key.contains(characters))
-                throw new IllegalArgumentException("Key must not contain character '" + characters + "'!");
-        if(defaultValue < minValue || defaultValue > maxValue)
-            throw new IllegalArgumentException("Default value must be between the minimum and maximum values!");
+    public Supplier<String> define(String key, String defaultValue, int minLength, int maxLength){
+        this.checkKey(key);
+        if(defaultValue == null)
+            throw new IllegalArgumentException("Default value must not be null!");
+        if(defaultValue.length() < minLength || defaultValue.length() > maxLength)
+            throw new IllegalArgumentException("Default value's length must be between the minimum and maximum length!");
 
-        JsonIntegerConfigEntry entry = new JsonIntegerConfigEntry(defaultValue, minValue, maxValue, this.shouldBeSynced, this.requiresGameRestart, this.isClientOnly, this.isServerOnly, this.comment);
+        JsonStringConfigEntry entry = new JsonStringConfigEntry(defaultValue, minLength, maxLength, this.shouldBeSynced, this.requiresGameRestart, this.isClientOnly, this.isServerOnly, this.comment);
         this.resetState();
         return this.addEntry(this.getPath(key), entry);
     }
 
     @Override
-    public Supplier<Long> define(String key, long defaultValue, long minValue, long maxValue){
-        if(key == null)
-            throw new IllegalArgumentException("Key must not be null!");
-        if(key.isEmpty())
-            throw new IllegalArgumentException("Key must not be empty!");
-        for(String characters : this.getIllegalCharacters())
-            if(key.contains(characters))
-                throw new IllegalArgumentException("Key must not contain character '" + characters + "'!");
-        if(defaultValue < minValue || defaultValue > maxValue)
-            throw new IllegalArgumentException("Default value must be between the minimum and maximum values!");
+    public Supplier<IntListView> defineIntList(String key, int[] defaultValue, int minValue, int maxValue){
+        this.checkKey(key);
+        if(defaultValue == null)
+            throw new IllegalArgumentException("Default value must not be null!");
+        for(int value : defaultValue)
+            if(value < minValue || value > maxValue)
+                throw new IllegalArgumentException("Default values must be between the minimum and maximum values!");
 
-        JsonLongConfigEntry entry = new JsonLongConfigEntry(defaultValue, minValue, maxValue, this.shouldBeSynced, this.requiresGameRestart, this.isClientOnly, this.isServerOnly, this.comment);
+        JsonIntListConfigEntry entry = new JsonIntListConfigEntry(IntListView.of(defaultValue), minValue, maxValue, this.shouldBeSynced, this.requiresGameRestart, this.isClientOnly, this.isServerOnly, this.comment);
         this.resetState();
         return this.addEntry(this.getPath(key), entry);
     }
 
     @Override
-    public Supplier<Double> define(String key, double defaultValue, double minValue, double maxValue){
-        if(key == null)
-            throw new IllegalArgumentException("Key must not be null!");
-        if(key.isEmpty())
-            throw new IllegalArgumentException("Key must not be empty!");
-        for(String characters : this.getIllegalCharacters())
-            if(key.contains(characters))
-                throw new IllegalArgumentException("Key must not contain character '" + characters + "'!");
-        if(defaultValue < minValue || defaultValue > maxValue)
-            throw new IllegalArgumentException("Default value must be between the minimum and maximum values!");
+    public Supplier<LongListView> defineLongList(String key, long[] defaultValue, long minValue, long maxValue){
+        this.checkKey(key);
+        if(defaultValue == null)
+            throw new IllegalArgumentException("Default value must not be null!");
+        for(long value : defaultValue)
+            if(value < minValue || value > maxValue)
+                throw new IllegalArgumentException("Default values must be between the minimum and maximum values!");
 
-        JsonDoubleConfigEntry entry = new JsonDoubleConfigEntry(defaultValue, minValue, maxValue, this.shouldBeSynced, this.requiresGameRestart, this.isClientOnly, this.isServerOnly, this.comment);
+        JsonLongListConfigEntry entry = new JsonLongListConfigEntry(LongListView.of(defaultValue), minValue, maxValue, this.shouldBeSynced, this.requiresGameRestart, this.isClientOnly, this.isServerOnly, this.comment);
         this.resetState();
         return this.addEntry(this.getPath(key), entry);
     }
 
     @Override
-    public <T extends Enum<T>> Supplier<T> define(String key, T defaultValue){
-        if(key == null)
-            throw new IllegalArgumentException("Key must not be null!");
-        if(key.isEmpty())
-            throw new IllegalArgumentException("Key must not be empty!");
-        for(String characters : this.getIllegalCharacters())
-            if(key.contains(characters))
-                throw new IllegalArgumentException("Key must not contain character '" + characters + "'!");
+    public Supplier<DoubleListView> defineDoubleList(String key, double[] defaultValue, double minValue, double maxValue){
+        this.checkKey(key);
         if(defaultValue == null)
             throw new IllegalArgumentException("Default value must not be null!");
+        for(double value : defaultValue)
+            if(value < minValue || value > maxValue)
+                throw new IllegalArgumentException("Default values must be between the minimum and maximum values!");
 
-        JsonEnumConfigEntry<T> entry = new JsonEnumConfigEntry<>(defaultValue, this.shouldBeSynced, this.requiresGameRestart, this.isClientOnly, this.isServerOnly, this.comment);
+        JsonDoubleListConfigEntry entry = new JsonDoubleListConfigEntry(DoubleListView.of(defaultValue), minValue, maxValue, this.shouldBeSynced, this.requiresGameRestart, this.isClientOnly, this.isServerOnly, this.comment);
         this.resetState();
         return this.addEntry(this.getPath(key), entry);
     }
 
     @Override
-    public Supplier<String> define(String key, String defaultValue, int minLength, int maxLength){
+    public Supplier<List<String>> defineStringList(String key, List<String> defaultValue, int minLength, int maxLength){
+        this.checkKey(key);
+        if(defaultValue == null)
+            throw new IllegalArgumentException("Default value must not be null!");
+        for(String value : defaultValue){
+            if(value == null)
+                throw new IllegalArgumentException("Default values must not be null!");
+            if(value.length() < minLength || value.length() > maxLength)
+                throw new IllegalArgumentException("Default values' lengths must be between the minimum and maximum length!");
+        }
+
+        JsonStringListConfigEntry entry = new JsonStringListConfigEntry(Collections.unmodifiableList(new ArrayList<>(defaultValue)), minLength, maxLength, this.shouldBeSynced, this.requiresGameRestart, this.isClientOnly, this.isServerOnly, this.comment);
+        this.resetState();
+        return this.addEntry(this.getPath(key), entry);
+    }
+
+    private JsonBooleanConfigEntry createBooleanEntry(String key, boolean defaultValue){
+        this.checkKey(key);
+
+        JsonBooleanConfigEntry entry = new JsonBooleanConfigEntry(defaultValue, this.shouldBeSynced, this.requiresGameRestart, this.isClientOnly, this.isServerOnly, this.comment);
+        this.resetState();
+        return entry;
+    }
+
+    private JsonIntegerConfigEntry createIntegerEntry(String key, int defaultValue, int minValue, int maxValue){
+        this.checkKey(key);
+        if(defaultValue < minValue || defaultValue > maxValue)
+            throw new IllegalArgumentException("Default value must be between the minimum and maximum values!");
+
+        JsonIntegerConfigEntry entry = new JsonIntegerConfigEntry(defaultValue, minValue, maxValue, this.shouldBeSynced, this.requiresGameRestart, this.isClientOnly, this.isServerOnly, this.comment);
+        this.resetState();
+        return entry;
+    }
+
+    private JsonLongConfigEntry createLongEntry(String key, long defaultValue, long minValue, long maxValue){
+        this.checkKey(key);
+        if(defaultValue < minValue || defaultValue > maxValue)
+            throw new IllegalArgumentException("Default value must be between the minimum and maximum values!");
+
+        JsonLongConfigEntry entry = new JsonLongConfigEntry(defaultValue, minValue, maxValue, this.shouldBeSynced, this.requiresGameRestart, this.isClientOnly, this.isServerOnly, this.comment);
+        this.resetState();
+        return entry;
+    }
+
+    private JsonDoubleConfigEntry createDoubleEntry(String key, double defaultValue, double minValue, double maxValue){
+        this.checkKey(key);
+        if(defaultValue < minValue || defaultValue > maxValue)
+            throw new IllegalArgumentException("Default value must be between the minimum and maximum values!");
+
+        JsonDoubleConfigEntry entry = new JsonDoubleConfigEntry(defaultValue, minValue, maxValue, this.shouldBeSynced, this.requiresGameRestart, this.isClientOnly, this.isServerOnly, this.comment);
+        this.resetState();
+        return entry;
+    }
+
+    private void checkKey(String key){
         if(key == null)
             throw new IllegalArgumentException("Key must not be null!");
         if(key.isEmpty())
@@ -118,13 +209,5 @@ public class JsonConfigBuilder extends BaseConfigBuilder<JsonElement> {
         for(String characters : this.getIllegalCharacters())
             if(key.contains(characters))
                 throw new IllegalArgumentException("Key must not contain character '" + characters + "'!");
-        if(defaultValue == null)
-            throw new IllegalArgumentException("Default value must not be null!");
-        if(defaultValue.length() < minLength || defaultValue.length() > maxLength)
-            throw new IllegalArgumentException("Default value's length must be between the minimum and maximum length!");
-
-        JsonStringConfigEntry entry = new JsonStringConfigEntry(defaultValue, minLength, maxLength, this.shouldBeSynced, this.requiresGameRestart, this.isClientOnly, this.isServerOnly, this.comment);
-        this.resetState();
-        return this.addEntry(this.getPath(key), entry);
     }
 }
@@ -2,28 +2,31 @@ package com.supermartijn642.configlib.json;
 
 import com.google.gson.*;
 import com.google.gson.stream.JsonReader;
-import com.google.gson.stream.JsonWriter;
-import com.supermartijn642.configlib.ConfigFile;
-import com.supermartijn642.configlib.ConfigLib;
+import com.google.gson.stream.JsonToken;
+import com.supermartijn642.configlib.BaseConfigFile;
 
+import java.io.CharArrayReader;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
-import java.nio.file.*;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
 
 /**
  * Created 23/03/2022 by SuperMartijn642
  */
-public class JsonConfigFile implements ConfigFile<JsonElement> {
+public class JsonConfigFile extends BaseConfigFile<JsonElement> {
 
     private static final Gson GSON = new GsonBuilder().setLenient().setPrettyPrinting().create();
 
-    private final File file;
     private JsonObject json = new JsonObject();
-    private boolean tracking = false;
 
     public JsonConfigFile(File file){
-        this.file = file;
+        super(file);
     }
 
     public JsonElement get(String[] path, String key){
@@ -87,86 +90,56 @@ public class JsonConfigFile implements ConfigFile<JsonElement> {
     }
 
     @Override
-    public void startTrackingFile(){
-        if(this.tracking)
-            throw new IllegalStateException("Config file is already being tracked!");
-
-        Path parentPath = this.file.getParentFile().toPath();
-
-        // Create a new watch service for the file
-        WatchService watchService;
-        try{
-            watchService = parentPath.getFileSystem().newWatchService();
-            parentPath.register(watchService, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
-        }catch(Exception e){
-            ConfigLib.LOGGER.error("Failed to create watch service for config file!", e);
-            return;
+    protected void readContent(ByteBuffer content) throws IOException{
+        try(JsonReader reader = GSON.newJsonReader(decode(content))){
+            JsonObject json = GSON.fromJson(reader, JsonObject.class);
+            this.json = json == null ? new JsonObject() : json;
         }
-
-        this.tracking = true;
-
-        // Create a new thread to wait for watch service events
-        Thread watchThread = new Thread(
-            () -> {
-                while(true){
-                    WatchKey watchKey;
-
-                    // Wait for a new event
-                    try{
-                        watchKey = watchService.take();
-                    }catch(Exception e){
-                        // Watch service got closed
-                        this.tracking = false;
-                        break;
-                    }
-
-                    // Read the file again
-                    for(WatchEvent<?> pollEvent : watchKey.pollEvents()){
-                        Path path = (Path)pollEvent.context();
-                        if(this.file.getName().equals(path.toString())){
-                            this.readFile();
-                            break;
-                        }
-                    }
-
-                    // Reset the watch key
-                    watchKey.reset();
-                }
-            },
-            "Config Lib config file watcher"
-        );
-        // Make sure the thread doesn't prevent the program from exiting
-        watchThread.setDaemon(true);
-        // Start the file watcher thread
-        watchThread.start();
     }
 
     @Override
-    public void readFile(){
-        // Use an empty json object if the file doesn't exist
-        if(!this.file.exists() || this.file.isDirectory()){
-            this.json = new JsonObject();
-            return;
+    protected void readValues(ByteBuffer content, BiConsumer<String[],JsonElement> consumer) throws IOException{
+        try(JsonReader reader = GSON.newJsonReader(decode(content))){
+            // Empty files have no values
+            if(reader.peek() != JsonToken.END_DOCUMENT)
+                readValues(reader, new ArrayList<>(), consumer);
         }
+    }
+
+    /**
+     * Decodes the file's content with the platform's default charset, as that is what it was written with
+     */
+    private static Reader decode(ByteBuffer content){
+        CharBuffer characters = Charset.defaultCharset().decode(content);
+        return new CharArrayReader(characters.array(), characters.arrayOffset() + characters.position(), characters.remaining());
+    }
 
-        try(JsonReader reader = GSON.newJsonReader(new FileReader(this.file))){
-            this.json = GSON.fromJson(reader, JsonObject.class);
-        }catch(Exception e){
-            ConfigLib.LOGGER.error("Failed to read json file '" + this.file.getPath() + "'!", e);
-            this.json = new JsonObject();
+    private static void readValues(JsonReader reader, List<String> path, BiConsumer<String[],JsonElement> consumer) throws IOException{
+        reader.beginObject();
+        while(reader.hasNext()){
+            String name = reader.nextName();
+            if(reader.peek() == JsonToken.BEGIN_OBJECT){
+                // Category or entry object
+                path.add(name);
+                readValues(reader, path, consumer);
+                path.remove(path.size() - 1);
+            }else if(name.equals("value") && !path.isEmpty())
+                consumer.accept(path.toArray(new String[0]), GSON.fromJson(reader, JsonElement.class));
+            else
+                // Comments and hints
+                reader.skipValue();
         }
+        reader.endObject();
     }
 
     @Override
-    public void writeFile(){
-        // Create parent directory
-        if(!this.file.getParentFile().exists())
-            this.file.getParentFile().mkdirs();
-
-        try(JsonWriter writer = GSON.newJsonWriter(new FileWriter(this.file))){
-            GSON.toJson(this.json, writer);
-        }catch(Exception e){
-            ConfigLib.LOGGER.error("Failed to write json file '" + this.file.getPath() + "'!", e);
-        }
+    protected byte[] render(){
+        // Written in the platform's default charset, as that is what the file is read with
+        return GSON.toJson(this.json).getBytes(Charset.defaultCharset());
+    }
+
+    @Override
+    protected String getFormatName(){
+        return "json";
     }
 }
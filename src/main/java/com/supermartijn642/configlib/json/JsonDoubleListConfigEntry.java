@@ -0,0 +1,40 @@
+package com.supermartijn642.configlib.json;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+import com.supermartijn642.configlib.BaseDoubleListConfigEntry;
+import com.supermartijn642.configlib.api.DoubleListView;
+
+/**
+ * Created 17/10/2026 by agent
+ */
+public class JsonDoubleListConfigEntry extends BaseDoubleListConfigEntry<JsonElement> {
+
+    public JsonDoubleListConfigEntry(DoubleListView defaultValue, double minimum, double maximum, boolean shouldBeSynced, boolean requiresGameRestart, boolean isClientOnly, boolean isServerOnly, String comment){
+        super(defaultValue, minimum, maximum, shouldBeSynced, requiresGameRestart, isClientOnly, isServerOnly, comment);
+    }
+
+    @Override
+    public JsonElement serialize(DoubleListView value){
+        JsonArray array = new JsonArray();
+        for(int i = 0; i < value.size(); i++)
+            array.add(value.getDouble(i));
+        return array;
+    }
+
+    @Override
+    public DoubleListView deserialize(JsonElement serialized){
+        if(!serialized.isJsonArray())
+            return null;
+        JsonArray array = serialized.getAsJsonArray();
+        double[] values = new double[array.size()];
+        for(int i = 0; i < values.length; i++){
+            JsonElement element = array.get(i);
+            if(!element.isJsonPrimitive() || !((JsonPrimitive)element).isNumber())
+                return null;
+            values[i] = element.getAsDouble();
+        }
+        return DoubleListView.of(values);
+    }
+}
@@ -66,6 +66,7 @@ public class JsonEnumConfigEntry<T extends Enum<T>> extends BaseConfigEntry<T,Js
         if(length > 512)
             return null;
         byte[] bytes = new byte[length];
+        buffer.get(bytes);
         String name = new String(bytes, StandardCharsets.UTF_8);
         T value = null;
         try{
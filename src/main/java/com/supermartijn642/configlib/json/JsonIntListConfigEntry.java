@@ -0,0 +1,40 @@
+package com.supermartijn642.configlib.json;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+import com.supermartijn642.configlib.BaseIntListConfigEntry;
+import com.supermartijn642.configlib.api.IntListView;
+
+/**
+ * Created 17/10/2026 by agent
+ */
+public class JsonIntListConfigEntry extends BaseIntListConfigEntry<JsonElement> {
+
+    public JsonIntListConfigEntry(IntListView defaultValue, int minimum, int maximum, boolean shouldBeSynced, boolean requiresGameRestart, boolean isClientOnly, boolean isServerOnly, String comment){
+        super(defaultValue, minimum, maximum, shouldBeSynced, requiresGameRestart, isClientOnly, isServerOnly, comment);
+    }
+
+    @Override
+    public JsonElement serialize(IntListView value){
+        JsonArray array = new JsonArray();
+        for(int i = 0; i < value.size(); i++)
+            array.add(value.getInt(i));
+        return array;
+    }
+
+    @Override
+    public IntListView deserialize(JsonElement serialized){
+        if(!serialized.isJsonArray())
+            return null;
+        JsonArray array = serialized.getAsJsonArray();
+        int[] values = new int[array.size()];
+        for(int i = 0; i < values.length; i++){
+            JsonElement element = array.get(i);
+            if(!element.isJsonPrimitive() || !((JsonPrimitive)element).isNumber())
+                return null;
+            values[i] = element.getAsInt();
+        }
+        return IntListView.of(values);
+    }
+}
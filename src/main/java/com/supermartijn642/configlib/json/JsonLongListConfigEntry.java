@@ -0,0 +1,40 @@
+package com.supermartijn642.configlib.json;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+import com.supermartijn642.configlib.BaseLongListConfigEntry;
+import com.supermartijn642.configlib.api.LongListView;
+
+/**
+ * Created 17/10/2026 by agent
+ */
+public class JsonLongListConfigEntry extends BaseLongListConfigEntry<JsonElement> {
+
+    public JsonLongListConfigEntry(LongListView defaultValue, long minimum, long maximum, boolean shouldBeSynced, boolean requiresGameRestart, boolean isClientOnly, boolean isServerOnly, String comment){
+        super(defaultValue, minimum, maximum, shouldBeSynced, requiresGameRestart, isClientOnly, isServerOnly, comment);
+    }
+
+    @Override
+    public JsonElement serialize(LongListView value){
+        JsonArray array = new JsonArray();
+        for(int i = 0; i < value.size(); i++)
+            array.add(value.getLong(i));
+        return array;
+    }
+
+    @Override
+    public LongListView deserialize(JsonElement serialized){
+        if(!serialized.isJsonArray())
+            return null;
+        JsonArray array = serialized.getAsJsonArray();
+        long[] values = new long[array.size()];
+        for(int i = 0; i < values.length; i++){
+            JsonElement element = array.get(i);
+            if(!element.isJsonPrimitive() || !((JsonPrimitive)element).isNumber())
+                return null;
+            values[i] = element.getAsLong();
+        }
+        return LongListView.of(values);
+    }
+}
@@ -0,0 +1,43 @@
+package com.supermartijn642.configlib.json;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+import com.supermartijn642.configlib.BaseStringListConfigEntry;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Created 17/10/2026 by agent
+ */
+public class JsonStringListConfigEntry extends BaseStringListConfigEntry<JsonElement> {
+
+    public JsonStringListConfigEntry(List<String> defaultValue, int minLength, int maxLength, boolean shouldBeSynced, boolean requiresGameRestart, boolean isClientOnly, boolean isServerOnly, String comment){
+        super(defaultValue, minLength, maxLength, shouldBeSynced, requiresGameRestart, isClientOnly, isServerOnly, comment);
+    }
+
+    @Override
+    public JsonElement serialize(List<String> value){
+        JsonArray array = new JsonArray();
+        for(String element : value)
+            array.add(element);
+        return array;
+    }
+
+    @Override
+    public List<String> deserialize(JsonElement serialized){
+        if(!serialized.isJsonArray())
+            return null;
+        JsonArray array = serialized.getAsJsonArray();
+        String[] values = new String[array.size()];
+        for(int i = 0; i < values.length; i++){
+            JsonElement element = array.get(i);
+            if(!element.isJsonPrimitive() || !((JsonPrimitive)element).isString())
+                return null;
+            values[i] = element.getAsString();
+        }
+        return Collections.unmodifiableList(Arrays.asList(values));
+    }
+}
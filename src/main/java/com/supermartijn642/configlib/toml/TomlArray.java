@@ -0,0 +1,192 @@
+package com.supermartijn642.configlib.toml;
+
+import java.util.Arrays;
+
+/**
+ * Array of toml values. Arrays which only contain integers or only contain floats are backed by an {@code int[]},
+ * {@code long[]} or {@code double[]} rather than by individual elements.
+ * <p>
+ * Created 17/10/2026 by agent
+ */
+public class TomlArray extends TomlElement {
+
+    private static final TomlElement[] EMPTY = new TomlElement[0];
+
+    private final int[] ints;
+    private final long[] longs;
+    private final double[] doubles;
+    private final TomlElement[] elements;
+
+    private TomlArray(int[] ints, long[] longs, double[] doubles, TomlElement[] elements){
+        this.ints = ints;
+        this.longs = longs;
+        this.doubles = doubles;
+        this.elements = elements;
+    }
+
+    public static TomlArray of(int[] values){
+        return new TomlArray(values.clone(), null, null, null);
+    }
+
+    public static TomlArray of(long[] values){
+        return new TomlArray(null, values.clone(), null, null);
+    }
+
+    public static TomlArray of(double[] values){
+        return new TomlArray(null, null, values.clone(), null);
+    }
+
+    public static TomlArray of(TomlElement... values){
+        for(TomlElement value : values)
+            if(value == null)
+                throw new IllegalArgumentException("Array elements must not be null!");
+        return new TomlArray(null, null, null, values.clone());
+    }
+
+    public int size(){
+        return this.ints != null ? this.ints.length : this.longs != null ? this.longs.length : this.doubles != null ? this.doubles.length : this.elements.length;
+    }
+
+    /**
+     * @return whether the array only contains integers which fit in an int
+     */
+    public boolean isIntArray(){
+        return this.ints != null;
+    }
+
+    /**
+     * @return the backing array, which must not be modified
+     */
+    public int[] getAsIntArray(){
+        return this.ints;
+    }
+
+    /**
+     * @return whether the array only contains integers, of which some do not fit in an int
+     */
+    public boolean isLongArray(){
+        return this.longs != null;
+    }
+
+    /**
+     * @return the backing array, which must not be modified
+     */
+    public long[] getAsLongArray(){
+        return this.longs;
+    }
+
+    /**
+     * @return whether the array only contains floats
+     */
+    public boolean isDoubleArray(){
+        return this.doubles != null;
+    }
+
+    /**
+     * @return the backing array, which must not be modified
+     */
+    public double[] getAsDoubleArray(){
+        return this.doubles;
+    }
+
+    public TomlElement get(int index){
+        if(this.ints != null)
+            return TomlPrimitive.of(this.ints[index]);
+        if(this.longs != null)
+            return TomlPrimitive.of(this.longs[index]);
+        if(this.doubles != null)
+            return TomlPrimitive.of(this.doubles[index]);
+        return this.elements[index];
+    }
+
+    @Override
+    public boolean equals(Object o){
+        if(this == o) return true;
+        if(o == null || this.getClass() != o.getClass()) return false;
+
+        TomlArray tomlArray = (TomlArray)o;
+
+        return Arrays.equals(this.ints, tomlArray.ints) && Arrays.equals(this.longs, tomlArray.longs)
+            && Arrays.equals(this.doubles, tomlArray.doubles) && Arrays.equals(this.elements, tomlArray.elements);
+    }
+
+    @Override
+    public int hashCode(){
+        return this.ints != null ? Arrays.hashCode(this.ints) : this.longs != null ? Arrays.hashCode(this.longs) : this.doubles != null ? Arrays.hashCode(this.doubles) : Arrays.hashCode(this.elements);
+    }
+
+    @Override
+    public String toString(){
+        return this.ints != null ? Arrays.toString(this.ints) : this.longs != null ? Arrays.toString(this.longs) : this.doubles != null ? Arrays.toString(this.doubles) : Arrays.toString(this.elements);
+    }
+
+    /**
+     * Collects array values, keeping them in a primitive array for as long as they are all integers or all floats
+     */
+    static class Builder {
+
+        private long[] integers = new long[8];
+        private double[] floats;
+        private TomlElement[] elements;
+        private int size;
+
+        void add(long value){
+            if(this.integers != null){
+                if(this.size == this.integers.length)
+                    this.integers = Arrays.copyOf(this.integers, this.size * 2);
+                this.integers[this.size++] = value;
+            }else
+                this.add(TomlPrimitive.of(value));
+        }
+
+        void add(double value){
+            if(this.size == 0 && this.integers != null){
+                this.integers = null;
+                this.floats = new double[8];
+            }
+            if(this.floats != null){
+                if(this.size == this.floats.length)
+                    this.floats = Arrays.copyOf(this.floats, this.size * 2);
+                this.floats[this.size++] = value;
+            }else
+                this.add(TomlPrimitive.of(value));
+        }
+
+        void add(TomlElement value){
+            if(this.elements == null){
+                // Box the values collected so far
+                this.elements = new TomlElement[Math.max(this.size * 2, 8)];
+                for(int i = 0; i < this.size; i++)
+                    this.elements[i] = this.integers != null ? integer(this.integers[i]) : TomlPrimitive.of(this.floats[i]);
+                this.integers = null;
+                this.floats = null;
+            }
+            if(this.size == this.elements.length)
+                this.elements = Arrays.copyOf(this.elements, this.size * 2);
+            this.elements[this.size++] = value;
+        }
+
+        TomlArray build(){
+            if(this.size == 0)
+                return new TomlArray(null, null, null, EMPTY);
+            if(this.floats != null)
+                return new TomlArray(null, null, Arrays.copyOf(this.floats, this.size), null);
+            if(this.elements != null)
+                return new TomlArray(null, null, null, Arrays.copyOf(this.elements, this.size));
+
+            // Use an int array if all values fit
+            for(int i = 0; i < this.size; i++){
+                if(this.integers[i] != (int)this.integers[i])
+                    return new TomlArray(null, Arrays.copyOf(this.integers, this.size), null, null);
+            }
+            int[] ints = new int[this.size];
+            for(int i = 0; i < this.size; i++)
+                ints[i] = (int)this.integers[i];
+            return new TomlArray(ints, null, null, null);
+        }
+
+        private static TomlElement integer(long value){
+            return value == (int)value ? TomlPrimitive.of((int)value) : TomlPrimitive.of(value);
+        }
+    }
+}
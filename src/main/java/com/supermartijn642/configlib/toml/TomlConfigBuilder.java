@@ -2,9 +2,15 @@ package com.supermartijn642.configlib.toml;
 
 import com.supermartijn642.configlib.BaseConfigBuilder;
 import com.supermartijn642.configlib.ConfigFile;
+import com.supermartijn642.configlib.api.DoubleListView;
+import com.supermartijn642.configlib.api.IntListView;
+import com.supermartijn642.configlib.api.LongListView;
 
 import java.io.File;
-import java.util.function.Supplier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.*;
 
 /**
  * Created 24/03/2022 by SuperMartijn642
@@ -27,89 +33,174 @@ public class TomlConfigBuilder extends BaseConfigBuilder<TomlElement> {
 
     @Override
     public Supplier<Boolean> define(String key, boolean defaultValue){
-        if(key == null)
-            throw new IllegalArgumentException("Key must not be null!");
-        if(key.isEmpty())
-            throw new IllegalArgumentException("Key must not be empty!");
-        for(String characters : this.getIllegalCharacters())
-            if(key.contains(characters))
-                throw new IllegalArgumentException("Key must not contain character '" + characters + "'!");
+        TomlBooleanConfigEntry entry = this.createBooleanEntry(key, defaultValue);
+        return this.addEntry(this.getPath(key), entry);
+    }
 
-        TomlBooleanConfigEntry entry = new TomlBooleanConfigEntry(defaultValue, this.shouldBeSynced, this.requiresGameRestart, this.isClientOnly, this.isServerOnly, this.comment);
+    @Override
+    public BooleanSupplier defineBoolean(String key, boolean defaultValue){
+        TomlBooleanConfigEntry entry = this.createBooleanEntry(key, defaultValue);
+        return this.addBooleanEntry(this.getPath(key), entry);
+    }
+
+    @Override
+    public Supplier<Integer> define(String key, int defaultValue, int minValue, int maxValue){
+        TomlIntegerConfigEntry entry = this.createIntegerEntry(key, defaultValue, minValue, maxValue);
+        return this.addEntry(this.getPath(key), entry);
+    }
+
+    @Override
+    public IntSupplier defineInt(String key, int defaultValue, int minValue, int maxValue){
+        TomlIntegerConfigEntry entry = this.createIntegerEntry(key, defaultValue, minValue, maxValue);
+        return this.addIntEntry(this.getPath(key), entry);
+    }
+
+    @Override
+    public Supplier<Long> define(String key, long defaultValue, long minValue, long maxValue){
+        TomlLongConfigEntry entry = this.createLongEntry(key, defaultValue, minValue, maxValue);
+        return this.addEntry(this.getPath(key), entry);
+    }
+
+    @Override
+    public LongSupplier defineLong(String key, long defaultValue, long minValue, long maxValue){
+        TomlLongConfigEntry entry = this.createLongEntry(key, defaultValue, minValue, maxValue);
+        return this.addLongEntry(this.getPath(key), entry);
+    }
+
+    @Override
+    public Supplier<Double> define(String key, double defaultValue, double minValue, double maxValue){
+        TomlDoubleConfigEntry entry = this.createDoubleEntry(key, defaultValue, minValue, maxValue);
+        return this.addEntry(this.getPath(key), entry);
+    }
+
+    @Override
+    public DoubleSupplier defineDouble(String key, double defaultValue, double minValue, double maxValue){
+        TomlDoubleConfigEntry entry = this.createDoubleEntry(key, defaultValue, minValue, maxValue);
+        return this.addDoubleEntry(this.getPath(key), entry);
+    }
+
+    @Override
+    public <T extends Enum<T>> Supplier<T> define(String key, T defaultValue){
+        this.checkKey(key);
+        if(defaultValue == null)
+            throw new IllegalArgumentException("Default value must not be null!");
+
+        TomlEnumConfigEntry<T> entry = new TomlEnumConfigEntry<>(defaultValue, this.shouldBeSynced, this.requiresGameRestart, this.isClientOnly, this.isServerOnly, this.comment);
         this.resetState();
         return this.addEntry(this.getPath(key), entry);
     }
 
     @Override
-    public Supplier<Integer> define(String key, int defaultValue, int minValue, int maxValue){
-        if(key == null)
-            throw new IllegalArgumentException("Key must not be null!");
-        if(key.isEmpty())
-            throw new IllegalArgumentException("Key must not be empty!");
-        for(String characters : this.getIllegalCharacters())
-            if(key.contains(characters))
-                throw new IllegalArgumentException("Key must not contain character '" + characters + "'!");
-        if(defaultValue < minValue || defaultValue > maxValue)
-            throw new IllegalArgumentException("Default value must be between the minimum and maximum values!");
+    public Supplier<String> define(String key, String defaultValue, int minLength, int maxLength){
+        this.checkKey(key);
+        if(defaultValue == null)
+            throw new IllegalArgumentException("Default value must not be null!");
+        if(defaultValue.length() < minLength || defaultValue.length() > maxLength)
+            throw new IllegalArgumentException("Default value's length must be between the minimum and maximum length!");
 
-        TomlIntegerConfigEntry entry = new TomlIntegerConfigEntry(defaultValue, minValue, maxValue, this.shouldBeSynced, this.requiresGameRestart, this.isClientOnly, this.isServerOnly, this.comment);
+        TomlStringConfigEntry entry = new TomlStringConfigEntry(defaultValue, minLength, maxLength, this.shouldBeSynced, this.requiresGameRestart, this.isClientOnly, this.isServerOnly, this.comment);
         this.resetState();
         return this.addEntry(this.getPath(key), entry);
     }
 
     @Override
-    public Supplier<Long> define(String key, long defaultValue, long minValue, long maxValue){
-        if(key == null)
-            throw new IllegalArgumentException("Key must not be null!");
-        if(key.isEmpty())
-            throw new IllegalArgumentException("Key must not be empty!");
-        for(String characters : this.getIllegalCharacters())
-            if(key.contains(characters))
-                throw new IllegalArgumentException("Key must not contain character '" + characters + "'!");
-        if(defaultValue < minValue || defaultValue > maxValue)
-            throw new IllegalArgumentException("Default value must be between the minimum and maximum values!");
+    public Supplier<IntListView> defineIntList(String key, int[] defaultValue, int minValue, int maxValue){
+        this.checkKey(key);
+        if(defaultValue == null)
+            throw new IllegalArgumentException("Default value must not be null!");
+        for(int value : defaultValue)
+            if(value < minValue || value > maxValue)
+                throw new IllegalArgumentException("Default values must be between the minimum and maximum values!");
 
-        TomlLongConfigEntry entry = new TomlLongConfigEntry(defaultValue, minValue, maxValue, this.shouldBeSynced, this.requiresGameRestart, this.isClientOnly, this.isServerOnly, this.comment);
+        TomlIntListConfigEntry entry = new TomlIntListConfigEntry(IntListView.of(defaultValue), minValue, maxValue, this.shouldBeSynced, this.requiresGameRestart, this.isClientOnly, this.isServerOnly, this.comment);
         this.resetState();
         return this.addEntry(this.getPath(key), entry);
     }
 
     @Override
-    public Supplier<Double> define(String key, double defaultValue, double minValue, double maxValue){
-        if(key == null)
-            throw new IllegalArgumentException("Key must not be null!");
-        if(key.isEmpty())
-            throw new IllegalArgumentException("Key must not be empty!");
-        for(String characters : this.getIllegalCharacters())
-            if(key.contains(characters))
-                throw new IllegalArgumentException("Key must not contain character '" + characters + "'!");
-        if(defaultValue < minValue || defaultValue > maxValue)
-            throw new IllegalArgumentException("Default value must be between the minimum and maximum values!");
+    public Supplier<LongListView> defineLongList(String key, long[] defaultValue, long minValue, long maxValue){
+        this.checkKey(key);
+        if(defaultValue == null)
+            throw new IllegalArgumentException("Default value must not be null!");
+        for(long value : defaultValue)
+            if(value < minValue || value > maxValue)
+                throw new IllegalArgumentException("Default values must be between the minimum and maximum values!");
 
-        TomlDoubleConfigEntry entry = new TomlDoubleConfigEntry(defaultValue, minValue, maxValue, this.shouldBeSynced, this.requiresGameRestart, this.isClientOnly, this.isServerOnly, this.comment);
+        TomlLongListConfigEntry entry = new TomlLongListConfigEntry(LongListView.of(defaultValue), minValue, maxValue, this.shouldBeSynced, this.requiresGameRestart, this.isClientOnly, this.isServerOnly, this.comment);
         this.resetState();
         return this.addEntry(this.getPath(key), entry);
     }
 
     @Override
-    public <T extends Enum<T>> Supplier<T> define(String key, T defaultValue){
-        if(key == null)
-            throw new IllegalArgumentException("Key must not be null!");
-        if(key.isEmpty())
-            throw new IllegalArgumentException("Key must not be empty!");
-        for(String characters : this.getIllegalCharacters())
-            if(key.contains(characters))
-                throw new IllegalArgumentException("Key must not contain character '" + characters + "'!");
+    public Supplier<DoubleListView> defineDoubleList(String key, double[] defaultValue, double minValue, double maxValue){
+        this.checkKey(key);
         if(defaultValue == null)
             throw new IllegalArgumentException("Default value must not be null!");
+        for(double value : defaultValue)
+            if(value < minValue || value > maxValue)
+                throw new IllegalArgumentException("Default values must be between the minimum and maximum values!");
 
-        TomlEnumConfigEntry<T> entry = new TomlEnumConfigEntry<>(defaultValue, this.shouldBeSynced, this.requiresGameRestart, this.isClientOnly, this.isServerOnly, this.comment);
+        TomlDoubleListConfigEntry entry = new TomlDoubleListConfigEntry(DoubleListView.of(defaultValue), minValue, maxValue, this.shouldBeSynced, this.requiresGameRestart, this.isClientOnly, this.isServerOnly, this.comment);
         this.resetState();
         return this.addEntry(this.getPath(key), entry);
     }
 
     @Override
-    public Supplier<String> define(String key, String defaultValue, int minLength, int maxLength){
+    public Supplier<List<String>> defineStringList(String key, List<String> defaultValue, int minLength, int maxLength){
+        this.checkKey(key);
+        if(defaultValue == null)
+            throw new IllegalArgumentException("Default value must not be null!");
+        for(String value : defaultValue){
+            if(value == null)
+                throw new IllegalArgumentException("Default values must not be null!");
+            if(value.length() < minLength || value.length() > maxLength)
+                throw new IllegalArgumentException("Default values' lengths must be between the minimum and maximum length!");
+        }
+
+        TomlStringListConfigEntry entry = new TomlStringListConfigEntry(Collections.unmodifiableList(new ArrayList<>(defaultValue)), minLength, maxLength, this.shouldBeSynced, this.requiresGameRestart, this.isClientOnly, this.isServerOnly, this.comment);
+        this.resetState();
+        return this.addEntry(this.getPath(key), entry);
+    }
+
+    private TomlBooleanConfigEntry createBooleanEntry(String key, boolean defaultValue){
+        this.checkKey(key);
+
+        TomlBooleanConfigEntry entry = new TomlBooleanConfigEntry(defaultValue, this.shouldBeSynced, this.requiresGameRestart, this.isClientOnly, this.isServerOnly, this.comment);
+        this.resetState();
+        return entry;
+    }
+
+    private TomlIntegerConfigEntry createIntegerEntry(String key, int defaultValue, int minValue, int maxValue){
+        this.checkKey(key);
+        if(defaultValue < minValue || defaultValue > maxValue)
+            throw new IllegalArgumentException("Default value must be between the minimum and maximum values!");
+
+        TomlIntegerConfigEntry entry = new TomlIntegerConfigEntry(defaultValue, minValue, maxValue, this.shouldBeSynced, this.requiresGameRestart, this.isClientOnly, this.isServerOnly, this.comment);
+        this.resetState();
+        return entry;
+    }
+
+    private TomlLongConfigEntry createLongEntry(String key, long defaultValue, long minValue, long maxValue){
+        this.checkKey(key);
+        if(defaultValue < minValue || defaultValue > maxValue)
+            throw new IllegalArgumentException("Default value must be between the minimum and maximum values!");
+
+        TomlLongConfigEntry entry = new TomlLongConfigEntry(defaultValue, minValue, maxValue, this.shouldBeSynced, this.requiresGameRestart, this.isClientOnly, this.isServerOnly, this.comment);
+        this.resetState();
+        return entry;
+    }
+
+    private TomlDoubleConfigEntry createDoubleEntry(String key, double defaultValue, double minValue, double maxValue){
+        this.checkKey(key);
+        if(defaultValue < minValue || defaultValue > maxValue)
+            throw new IllegalArgumentException("Default value must be between the minimum and maximum values!");
+
+        TomlDoubleConfigEntry entry = new TomlDoubleConfigEntry(defaultValue, minValue, maxValue, this.shouldBeSynced, this.requiresGameRestart, this.isClientOnly, this.isServerOnly, this.comment);
+        this.resetState();
+        return entry;
+    }
+
+    private void checkKey(String key){
         if(key == null)
             throw new IllegalArgumentException("Key must not be null!");
         if(key.isEmpty())
@@ -117,13 +208,5 @@ public class TomlConfigBuilder extends BaseConfigBuilder<TomlElement> {
         for(String characters : this.getIllegalCharacters())
             if(key.contains(characters))
                 throw new IllegalArgumentException("Key must not contain character '" + characters + "'!");
-        if(defaultValue == null)
-            throw new IllegalArgumentException("Default value must not be null!");
-        if(defaultValue.length() < minLength || defaultValue.length() > maxLength)
-            throw new IllegalArgumentException("Default value's length must be between the minimum and maximum length!");
-
-        TomlStringConfigEntry entry = new TomlStringConfigEntry(defaultValue, minLength, maxLength, this.shouldBeSynced, this.requiresGameRestart, this.isClientOnly, this.isServerOnly, this.comment);
-        this.resetState();
-        return this.addEntry(this.getPath(key), entry);
     }
 }
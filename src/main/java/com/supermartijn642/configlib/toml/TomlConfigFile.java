@@ -1,22 +1,21 @@
 package com.supermartijn642.configlib.toml;
 
-import com.supermartijn642.configlib.ConfigFile;
-import com.supermartijn642.configlib.ConfigLib;
+import com.supermartijn642.configlib.BaseConfigFile;
 
-import java.io.*;
-import java.nio.file.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.function.BiConsumer;
 
 /**
  * Created 09/04/2022 by SuperMartijn642
  */
-public class TomlConfigFile implements ConfigFile<TomlElement> {
+public class TomlConfigFile extends BaseConfigFile<TomlElement> {
 
-    private final File file;
     private TomlTable table = new TomlTable();
-    private boolean tracking = false;
 
     public TomlConfigFile(File file){
-        this.file = file;
+        super(file);
     }
 
     public TomlElement get(String[] path){
@@ -105,86 +104,22 @@ public class TomlConfigFile implements ConfigFile<TomlElement> {
     }
 
     @Override
-    public void startTrackingFile(){
-        if(this.tracking)
-            throw new IllegalStateException("Config file is already being tracked!");
-
-        Path parentPath = this.file.getParentFile().toPath();
-
-        // Create a new watch service for the file
-        WatchService watchService;
-        try{
-            watchService = parentPath.getFileSystem().newWatchService();
-            parentPath.register(watchService, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
-        }catch(Exception e){
-            ConfigLib.LOGGER.error("Failed to create watch service for config file!", e);
-            return;
-        }
-
-        this.tracking = true;
-
-        // Create a new thread to wait for watch service events
-        Thread watchThread = new Thread(
-            () -> {
-                while(true){
-                    WatchKey watchKey;
-
-                    // Wait for a new event
-                    try{
-                        watchKey = watchService.take();
-                    }catch(Exception e){
-                        // Watch service got closed
-                        this.tracking = false;
-                        break;
-                    }
-
-                    // Read the file again
-                    for(WatchEvent<?> pollEvent : watchKey.pollEvents()){
-                        Path path = (Path)pollEvent.context();
-                        if(this.file.getName().equals(path.toString())){
-                            this.readFile();
-                            break;
-                        }
-                    }
-
-                    // Reset the watch key
-                    watchKey.reset();
-                }
-            },
-            "Config Lib config file watcher"
-        );
-        // Make sure the thread doesn't prevent the program from exiting
-        watchThread.setDaemon(true);
-        // Start the file watcher thread
-        watchThread.start();
+    protected void readContent(ByteBuffer content) throws IOException{
+        this.table = TomlDeserializer.readTomlTable(content);
     }
 
     @Override
-    public void readFile(){
-        // Use an empty json object if the file doesn't exist
-        if(!this.file.exists() || this.file.isDirectory()){
-            this.table = new TomlTable();
-            return;
-        }
+    protected void readValues(ByteBuffer content, BiConsumer<String[],TomlElement> consumer) throws IOException{
+        TomlDeserializer.readTomlValues(content, consumer::accept);
+    }
 
-        try(BufferedReader reader = new BufferedReader(new FileReader(this.file))){
-            this.table = TomlDeserializer.readTomlTable(reader);
-        }catch(Exception e){
-            ConfigLib.LOGGER.error("Failed to read toml file '" + this.file.getPath() + "'!", e);
-            this.table = new TomlTable();
-        }
+    @Override
+    protected byte[] render(){
+        return TomlSerializer.writeTomlTable(this.table);
     }
 
     @Override
-    public void writeFile(){
-        // Create parent directory
-        if(!this.file.getParentFile().exists())
-            this.file.getParentFile().mkdirs();
-
-        try(BufferedWriter writer = new BufferedWriter(new FileWriter(this.file))){
-            TomlSerializer.writeTomlTable(writer, this.table);
-        }catch(Exception e){
-            ConfigLib.LOGGER.error("Failed to write toml file '" + this.file.getPath() + "'!", e);
-        }
+    protected String getFormatName(){
+        return "toml";
     }
 }
@@ -1,11 +1,11 @@
 package com.supermartijn642.configlib.toml;
 
-import java.io.BufferedReader;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Locale;
 
 /**
  * Very primitive implementation of part of the TOML spec
@@ -14,18 +14,52 @@ import java.util.Locale;
  */
 public class TomlDeserializer {
 
-    public static TomlTable readTomlTable(BufferedReader reader) throws IOException{
-        BufferedCharReader charReader = new BufferedCharReader(reader);
-        return new TomlDeserializer().readFile(charReader);
+    /**
+     * Reads a toml table from the given UTF-8 encoded bytes
+     */
+    public static TomlTable readTomlTable(ByteBuffer buffer) throws IOException{
+        TomlTable table = new TomlTable();
+        readTomlValues(buffer, (path, value) -> putKeyValue(table, path, value));
+        return table;
     }
 
-    private final TomlTable contents = new TomlTable();
-    private String[] currentTable = new String[0];
+    /**
+     * Reads the given UTF-8 encoded bytes and passes each value to the given consumer, without building a toml table.
+     * Duplicate keys are not detected in this mode.
+     */
+    public static void readTomlValues(ByteBuffer buffer, TomlValueConsumer consumer) throws IOException{
+        TomlLexer lexer = new TomlLexer(buffer);
+        new TomlDeserializer(consumer).readFile(lexer);
+    }
 
-    private TomlDeserializer(){
+    private static final int INTEGER = 0, FLOAT = 1;
+    /**
+     * Powers of ten which can be represented exactly as a double
+     */
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    private final TomlValueConsumer consumer;
+    private String[] currentTable = new String[0];
+    /**
+     * Value of the last number read by {@link #readNumber(TomlLexer)}
+     */
+    private long integerValue;
+    private double floatValue;
+    /**
+     * UTF-8 bytes of the string which is currently being read
+     */
+    private byte[] stringBytes = new byte[64];
+    private int stringLength;
+
+    private TomlDeserializer(TomlValueConsumer consumer){
+        this.consumer = consumer;
     }
 
-    private TomlTable readFile(BufferedCharReader reader) throws IOException{
+    private void readFile(TomlLexer reader) throws IOException{
         while(true){
             // Skip spacing and comments
             this.readUntilNextContent(reader);
@@ -58,11 +92,9 @@ public class TomlDeserializer {
                     throw new MalformedTomlException("(Line " + reader.getLineIndex() + ":" + reader.getCharIndex() + ") Encountered unexpected character '" + (char)character + "'!");
             }
         }
-
-        return this.contents;
     }
 
-    private void readTableHeader(BufferedCharReader reader) throws IOException{
+    private void readTableHeader(TomlLexer reader) throws IOException{
         reader.skipChar();
         if(reader.peekChar() == '[')
             throw new MalformedTomlException("(Line " + reader.getLineIndex() + ":" + reader.getCharIndex() + ") Table arrays are not yet supported!");
@@ -98,7 +130,7 @@ public class TomlDeserializer {
                 else
                     key.add(keyBuilder.toString());
                 keyBuilder = new StringBuilder();
-            }else if(Character.toString((char)character).matches("[A-Za-z0-9_-]"))
+            }else if(TomlLexer.is(character, TomlLexer.BARE_KEY))
                 keyBuilder.append((char)character);
             else
                 throw new MalformedTomlException("(Line " + reader.getLineIndex() + ":" + reader.getCharIndex() + ") Encountered invalid key character '" + (char)character + "' in table header!");
@@ -113,7 +145,7 @@ public class TomlDeserializer {
         this.currentTable = key.toArray(new String[0]);
     }
 
-    private void readKeyValuePair(BufferedCharReader reader) throws IOException{
+    private void readKeyValuePair(TomlLexer reader) throws IOException{
         // Read the key
         List<String> key = new LinkedList<>();
         StringBuilder keyBuilder = new StringBuilder();
@@ -146,7 +178,7 @@ public class TomlDeserializer {
                 else
                     key.add(keyBuilder.toString());
                 keyBuilder = new StringBuilder();
-            }else if(Character.toString((char)character).matches("[A-Za-z0-9_-]"))
+            }else if(TomlLexer.is(character, TomlLexer.BARE_KEY))
                 keyBuilder.append((char)character);
             else
                 throw new MalformedTomlException("(Line " + reader.getLineIndex() + ":" + reader.getCharIndex() + ") Encountered invalid key character '" + (char)character + "'!");
@@ -169,33 +201,166 @@ public class TomlDeserializer {
         }
 
         // Read value
-        if(character == '\'' || character == '"'){
-            String value = this.readString(reader);
-            this.putKeyValue(key.toArray(new String[0]), TomlPrimitive.of(value));
-        }else if(character == '+' || character == '-' || Character.isDigit(character)){
-            Number number = this.readNumber(reader);
-            if(number instanceof Integer)
-                this.putKeyValue(key.toArray(new String[0]), TomlPrimitive.of((int)number));
+        String[] path = key.toArray(new String[0]);
+        if(character == '{'){
+            // Inline tables are passed on as separate values
+            this.readInlineTable(reader, (subPath, value) -> this.putKeyValue(concat(path, subPath), value));
+        }else
+            this.putKeyValue(path, this.readValue(reader));
+    }
+
+    private TomlElement readValue(TomlLexer reader) throws IOException{
+        int character = reader.peekChar();
+        if(character == '\'' || character == '"')
+            return TomlPrimitive.of(this.readString(reader));
+        else if(isNumberStart(reader, character)){
+            if(this.readNumber(reader) == FLOAT)
+                return TomlPrimitive.of(this.floatValue);
+            else if(this.integerValue == (int)this.integerValue)
+                return TomlPrimitive.of((int)this.integerValue);
             else
-                this.putKeyValue(key.toArray(new String[0]), TomlPrimitive.of((double)number));
-        }else if(reader.peekChars(4).equals("true") || reader.peekChars(5).equals("false")){
-            boolean value = reader.readChars(4).equals("true");
-            if(!value)
-                reader.skipChar();
-            this.putKeyValue(key.toArray(new String[0]), TomlPrimitive.of(value));
+                return TomlPrimitive.of(this.integerValue);
+        }else if(reader.matches("true")){
+            reader.skipChars(4);
+            return TomlPrimitive.of(true);
+        }else if(reader.matches("false")){
+            reader.skipChars(5);
+            return TomlPrimitive.of(false);
         }else if(character == '[')
-            throw new MalformedTomlException("(Line " + reader.getLineIndex() + ":" + reader.getCharIndex() + ") Array values are not yet supported!");
-        else if(character == '{')
-            throw new MalformedTomlException("(Line " + reader.getLineIndex() + ":" + reader.getCharIndex() + ") Inline tables are not yet supported!");
-        else
+            return this.readArray(reader);
+        else if(character == '{'){
+            TomlTable table = new TomlTable();
+            this.readInlineTable(reader, (path, value) -> {
+                // An empty inline table is the table itself
+                if(path.length > 0)
+                    putKeyValue(table, path, value);
+            });
+            return table;
+        }else
             throw new MalformedTomlException("(Line " + reader.getLineIndex() + ":" + reader.getCharIndex() + ") Encountered unexpected character '" + (char)character + "' whilst reading value!");
     }
 
-    private String readString(BufferedCharReader reader) throws IOException{
+    private TomlArray readArray(TomlLexer reader) throws IOException{
+        reader.skipChar();
+
+        TomlArray.Builder array = new TomlArray.Builder();
+        while(true){
+            // Arrays may span multiple lines and contain comments
+            this.readUntilNextContent(reader);
+            int character = reader.peekChar();
+            if(character == -1)
+                throw new MalformedTomlException("(Line " + reader.getLineIndex() + ":" + reader.getCharIndex() + ") Missing array ending ']'!");
+            if(character == ']'){
+                reader.skipChar();
+                break;
+            }
+
+            // Read the element, numbers are stored directly without wrapping them
+            if(isNumberStart(reader, character)){
+                if(this.readNumber(reader) == FLOAT)
+                    array.add(this.floatValue);
+                else
+                    array.add(this.integerValue);
+            }else
+                array.add(this.readValue(reader));
+
+            // Elements must be followed by either ',' or ']'
+            this.readUntilNextContent(reader);
+            character = reader.peekChar();
+            if(character == ',')
+                reader.skipChar();
+            else if(character != ']')
+                throw new MalformedTomlException("(Line " + reader.getLineIndex() + ":" + reader.getCharIndex() + ") Expected ',' or ']' in array!");
+        }
+        return array.build();
+    }
+
+    private void readInlineTable(TomlLexer reader, TomlValueConsumer consumer) throws IOException{
+        reader.skipChar();
+
+        this.skipSpaces(reader);
+        if(reader.peekChar() == '}'){
+            reader.skipChar();
+            // Pass on the empty table itself, as it has no values which would define it
+            consumer.accept(new String[0], new TomlTable());
+            return;
+        }
+
+        while(true){
+            // Read the key
+            List<String> key = this.readInlineKey(reader);
+            String[] path = key.toArray(new String[0]);
+
+            // Read the value
+            this.skipSpaces(reader);
+            if(reader.peekChar() == '{')
+                this.readInlineTable(reader, (subPath, value) -> consumer.accept(concat(path, subPath), value));
+            else
+                consumer.accept(path, this.readValue(reader));
+
+            // Values must be followed by either ',' or '}'
+            this.skipSpaces(reader);
+            int character = reader.readChar();
+            if(character == '}')
+                break;
+            if(character != ',')
+                throw new MalformedTomlException("(Line " + reader.getLineIndex() + ":" + reader.getCharIndex() + ") Expected ',' or '}' in inline table!");
+        }
+    }
+
+    private List<String> readInlineKey(TomlLexer reader) throws IOException{
+        List<String> key = new LinkedList<>();
+        StringBuilder keyBuilder = new StringBuilder();
+        while(true){
+            int character = reader.peekChar();
+            if(character == -1 || character == '\n')
+                throw new MalformedTomlException("(Line " + reader.getLineIndex() + ":" + reader.getCharIndex() + ") Missing inline table ending '}'!");
+
+            if(TomlLexer.is(character, TomlLexer.WHITESPACE)){
+                reader.skipChar();
+                continue;
+            }
+
+            if(character == '='){
+                if(keyBuilder.length() == 0)
+                    throw new MalformedTomlException("(Line " + reader.getLineIndex() + ":" + reader.getCharIndex() + ") Invalid key '" + String.join(".", key) + "." + keyBuilder + "' in inline table!");
+
+                reader.skipChar();
+                break;
+            }
+
+            if(character == '\'' || character == '"'){
+                keyBuilder.append(this.readString(reader));
+                continue;
+            }else if(character == '.'){
+                if(keyBuilder.length() == 0)
+                    throw new MalformedTomlException("(Line " + reader.getLineIndex() + ":" + reader.getCharIndex() + ") Encountered unexpected character '" + (char)character + "' in key!");
+                else
+                    key.add(keyBuilder.toString());
+                keyBuilder = new StringBuilder();
+            }else if(TomlLexer.is(character, TomlLexer.BARE_KEY))
+                keyBuilder.append((char)character);
+            else
+                throw new MalformedTomlException("(Line " + reader.getLineIndex() + ":" + reader.getCharIndex() + ") Encountered invalid key character '" + (char)character + "' in inline table!");
+
+            reader.skipChar();
+        }
+
+        // Add the remaining key parts
+        key.add(keyBuilder.toString());
+        return key;
+    }
+
+    private void skipSpaces(TomlLexer reader){
+        while(TomlLexer.is(reader.peekChar(), TomlLexer.WHITESPACE))
+            reader.skipChar();
+    }
+
+    private String readString(TomlLexer reader) throws IOException{
         char quoteChar = (char)reader.readChar();
         boolean isBasic = quoteChar == '"';
 
-        StringBuilder stringBuilder = new StringBuilder();
+        this.stringLength = 0;
         while(true){
             int character = reader.peekChar();
             if(character == -1 || character == '\n')
@@ -209,7 +374,7 @@ public class TomlDeserializer {
 
             // Check for escape sequence
             if(isBasic && character == '\\'){
-                stringBuilder.append((char)this.readEscapeSequence(reader));
+                this.appendCodePoint(reader, this.readEscapeSequence(reader));
                 continue;
             }
 
@@ -217,14 +382,42 @@ public class TomlDeserializer {
             if(isBasic && (character == '\u0000' || character == '\u0008' || character == '\u001F' || character == '\u007F'))
                 throw new MalformedTomlException("(Line " + reader.getLineIndex() + ":" + reader.getCharIndex() + ") Invalid basic string character '" + quoteChar + "'!");
 
-            stringBuilder.append((char)character);
+            // Copy the raw bytes, multibyte characters are decoded once the string is complete
+            this.appendStringByte(character);
             reader.skipChar();
         }
 
-        return stringBuilder.toString();
+        return new String(this.stringBytes, 0, this.stringLength, StandardCharsets.UTF_8);
+    }
+
+    private void appendStringByte(int character){
+        if(this.stringLength == this.stringBytes.length)
+            this.stringBytes = Arrays.copyOf(this.stringBytes, this.stringBytes.length * 2);
+        this.stringBytes[this.stringLength++] = (byte)character;
+    }
+
+    private void appendCodePoint(TomlLexer reader, int codePoint) throws MalformedTomlException{
+        if(codePoint < 0x80)
+            this.appendStringByte(codePoint);
+        else if(codePoint < 0x800){
+            this.appendStringByte(0xC0 | (codePoint >> 6));
+            this.appendStringByte(0x80 | (codePoint & 0x3F));
+        }else if(codePoint < 0x10000){
+            if(codePoint >= 0xD800 && codePoint <= 0xDFFF)
+                throw new MalformedTomlException("(Line " + reader.getLineIndex() + ":" + reader.getCharIndex() + ") Invalid unicode scalar value '" + Integer.toHexString(codePoint) + "'!");
+            this.appendStringByte(0xE0 | (codePoint >> 12));
+            this.appendStringByte(0x80 | ((codePoint >> 6) & 0x3F));
+            this.appendStringByte(0x80 | (codePoint & 0x3F));
+        }else if(codePoint <= 0x10FFFF){
+            this.appendStringByte(0xF0 | (codePoint >> 18));
+            this.appendStringByte(0x80 | ((codePoint >> 12) & 0x3F));
+            this.appendStringByte(0x80 | ((codePoint >> 6) & 0x3F));
+            this.appendStringByte(0x80 | (codePoint & 0x3F));
+        }else
+            throw new MalformedTomlException("(Line " + reader.getLineIndex() + ":" + reader.getCharIndex() + ") Invalid unicode scalar value '" + Integer.toHexString(codePoint) + "'!");
     }
 
-    private int readEscapeSequence(BufferedCharReader reader) throws IOException{
+    private int readEscapeSequence(TomlLexer reader) throws IOException{
         reader.skipChar();
 
         int character = reader.readChar();
@@ -256,76 +449,174 @@ public class TomlDeserializer {
         throw new MalformedTomlException("(Line " + reader.getLineIndex() + ":" + reader.getCharIndex() + ") Invalid escape sequence '\\" + (char)character + "'!");
     }
 
-    private int readUnicodeChar(BufferedCharReader reader, int length) throws IOException{
-        StringBuilder builder = new StringBuilder();
+    private int readUnicodeChar(TomlLexer reader, int length) throws IOException{
+        int value = 0;
         for(int i = 0; i < length; i++){
             int character = reader.readChar();
             if(character == -1)
                 throw new MalformedTomlException("(Line " + reader.getLineIndex() + ":" + reader.getCharIndex() + ") Unexpected end of file!");
-            if(Character.isDigit(character) || (character >= 'a' && character <= 'f') || (character >= 'A' && character <= 'F'))
-                builder.append((char)character);
-            else
+            if(!TomlLexer.is(character, TomlLexer.HEX_DIGIT))
                 throw new MalformedTomlException("(Line " + reader.getLineIndex() + ":" + reader.getCharIndex() + ") Invalid character '" + (char)character + "' in unicode escape sequence!");
+            value = value * 16 + Character.digit(character, 16);
         }
+        return value;
+    }
 
-        // Parse the string as base 16
-        return Integer.parseInt(builder.toString().toUpperCase(Locale.ROOT), 16);
+    private static boolean isNumberStart(TomlLexer reader, int character){
+        return character == '+' || character == '-' || TomlLexer.is(character, TomlLexer.DIGIT) || reader.matches("inf") || reader.matches("nan");
     }
 
-    private Number readNumber(BufferedCharReader reader) throws IOException{
-        StringBuilder numberBuilder = new StringBuilder();
+    /**
+     * Reads an integer or float in a single pass, accumulating its digits directly.
+     * Integers are stored in {@link #integerValue} and floats in {@link #floatValue}.
+     * The characters of the number are also collected in {@link #stringBytes} for error messages and for floats which cannot be converted exactly.
+     * @return either {@link #INTEGER} or {@link #FLOAT}
+     */
+    private int readNumber(TomlLexer reader) throws IOException{
+        this.stringLength = 0;
 
-        // Read the entire number
-        while(true){
-            int character = reader.peekChar();
-            if(character == -1 || character == '\n' || character == ' ' || character == '\t')
-                break;
+        // Read the sign
+        int character = reader.peekChar();
+        boolean hasSign = character == '+' || character == '-';
+        boolean negative = character == '-';
+        if(hasSign)
+            this.skipNumberChar(reader, character);
+
+        // Check for special floats
+        if(reader.matches("inf") || reader.matches("nan")){
+            this.floatValue = reader.matches("nan") ? Double.NaN : negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+            reader.skipChars(3);
+            this.checkNumberEnd(reader);
+            return FLOAT;
+        }
+
+        // Check other base notations
+        int base = reader.matches("0x") ? 16 : reader.matches("0o") ? 8 : reader.matches("0b") ? 2 : 10;
+        if(base != 10){
+            if(hasSign)
+                throw this.invalidNumber(reader);
+            this.skipNumberChar(reader, '0');
+            this.skipNumberChar(reader, reader.peekChar());
+        }
 
+        // Accumulate digits negatively, such that Long.MIN_VALUE can be represented
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplicationLimit = limit / base;
+        long value = 0;
+        boolean overflow = false;
+        int digits = 0, fractionDigits = 0;
+        boolean isFloat = false;
+        while(true){
+            character = reader.peekChar();
             if(character == '_'){
+                // Underscores must be surrounded by digits
                 reader.skipChar();
+                if(digits == 0 || !TomlLexer.is(reader.peekChar(), TomlLexer.HEX_DIGIT))
+                    throw this.invalidNumber(reader);
                 continue;
             }
-
-            if(Character.isDigit(character) || (character >= 'a' && character <= 'f') || (character >= 'A' && character <= 'F') || character == 'x' || character == 'o' || character == '-' || character == '+' || character == '.'){
-                numberBuilder.append((char)character);
-                reader.skipChar();
+            if(base == 10 && character == '.' && !isFloat){
+                if(digits == 0)
+                    throw this.invalidNumber(reader);
+                isFloat = true;
+                this.skipNumberChar(reader, character);
+                if(!TomlLexer.is(reader.peekChar(), TomlLexer.DIGIT))
+                    throw this.invalidNumber(reader);
                 continue;
             }
+            if(!TomlLexer.is(character, TomlLexer.HEX_DIGIT))
+                break;
+            int digit = Character.digit(character, base);
+            // Check for exponent
+            if(digit < 0 && base == 10 && (character == 'e' || character == 'E'))
+                break;
+            if(digit < 0)
+                throw new MalformedTomlException("(Line " + reader.getLineIndex() + ":" + reader.getCharIndex() + ") Invalid character '" + (char)character + "' in number!");
 
-            throw new MalformedTomlException("(Line " + reader.getLineIndex() + ":" + reader.getCharIndex() + ") Invalid character '" + (char)character + "' in number!");
+            if(value < multiplicationLimit || value * base < limit + digit)
+                overflow = true;
+            else
+                value = value * base - digit;
+            if(isFloat && !overflow)
+                fractionDigits++;
+            digits++;
+            this.skipNumberChar(reader, character);
         }
-
-        // Check other base notations
-        String numberString = numberBuilder.toString();
-        if(numberString.startsWith("0x") || numberString.startsWith("0o") || numberString.startsWith("0b")){
-            int base = numberString.startsWith("0x") ? 16 : numberString.startsWith("0o") ? 8 : 2;
-
-            try{
-                return Integer.parseInt(numberString.substring(2), base);
-            }catch(NumberFormatException ignore){
-                throw new MalformedTomlException("(Line " + reader.getLineIndex() + ":" + reader.getCharIndex() + ") Not a valid number '" + numberString + "'!");
+        if(digits == 0)
+            throw this.invalidNumber(reader);
+
+        // Read the exponent
+        int exponent = 0;
+        if(character == 'e' || character == 'E'){
+            isFloat = true;
+            this.skipNumberChar(reader, character);
+            character = reader.peekChar();
+            boolean negativeExponent = character == '-';
+            if(character == '+' || character == '-')
+                this.skipNumberChar(reader, character);
+            int exponentDigits = 0;
+            while(true){
+                character = reader.peekChar();
+                if(character == '_' && exponentDigits > 0){
+                    reader.skipChar();
+                    if(!TomlLexer.is(reader.peekChar(), TomlLexer.DIGIT))
+                        throw this.invalidNumber(reader);
+                    continue;
+                }
+                if(!TomlLexer.is(character, TomlLexer.DIGIT))
+                    break;
+                // Larger exponents are handled by the fallback
+                if(exponent < 100000)
+                    exponent = exponent * 10 + character - '0';
+                exponentDigits++;
+                this.skipNumberChar(reader, character);
             }
+            if(exponentDigits == 0)
+                throw this.invalidNumber(reader);
+            if(negativeExponent)
+                exponent = -exponent;
         }
+        this.checkNumberEnd(reader);
 
-        // Check if the number is floating-point or integer
-        if(numberString.contains(".") || numberString.contains("e") || numberString.contains("E")){
-            try{
-                return Double.parseDouble(numberString);
-            }catch(NumberFormatException ignore){
-                throw new MalformedTomlException("(Line " + reader.getLineIndex() + ":" + reader.getCharIndex() + ") Not a valid number '" + numberString + "'!");
-            }
-        }else{
-            try{
-                return Integer.parseInt(numberString);
-            }catch(NumberFormatException ignore){
-                throw new MalformedTomlException("(Line " + reader.getLineIndex() + ":" + reader.getCharIndex() + ") Not a valid number '" + numberString + "'!");
-            }
+        if(!isFloat){
+            if(overflow)
+                throw this.invalidNumber(reader);
+            this.integerValue = negative ? value : -value;
+            return INTEGER;
         }
+
+        // Fast path, if both the mantissa and the power of ten are exactly representable the result is correctly rounded
+        exponent -= fractionDigits;
+        if(!overflow && value >= -MAX_EXACT_MANTISSA && exponent >= -22 && exponent <= 22){
+            double result = -value;
+            result = exponent < 0 ? result / POWERS_OF_TEN[-exponent] : result * POWERS_OF_TEN[exponent];
+            this.floatValue = negative ? -result : result;
+            return FLOAT;
+        }
+
+        // Fall back to the exact but slower conversion
+        this.floatValue = Double.parseDouble(new String(this.stringBytes, 0, this.stringLength, StandardCharsets.ISO_8859_1));
+        return FLOAT;
+    }
+
+    private void skipNumberChar(TomlLexer reader, int character){
+        this.appendStringByte(character);
+        reader.skipChar();
     }
 
-    private void readUntilNextContent(BufferedCharReader reader) throws IOException{
+    private void checkNumberEnd(TomlLexer reader) throws MalformedTomlException{
+        int character = reader.peekChar();
+        if(character != -1 && character != '\n' && !TomlLexer.is(character, TomlLexer.WHITESPACE) && character != ',' && character != ']' && character != '}' && character != '#')
+            throw new MalformedTomlException("(Line " + reader.getLineIndex() + ":" + reader.getCharIndex() + ") Invalid character '" + (char)character + "' in number!");
+    }
+
+    private MalformedTomlException invalidNumber(TomlLexer reader){
+        return new MalformedTomlException("(Line " + reader.getLineIndex() + ":" + reader.getCharIndex() + ") Not a valid number '" + new String(this.stringBytes, 0, this.stringLength, StandardCharsets.ISO_8859_1) + "'!");
+    }
+
+    private void readUntilNextContent(TomlLexer reader) throws IOException{
         while(reader.peekChar() != -1){
-            if(reader.peekChar() == ' ' || reader.peekChar() == '\n' || reader.peekChar() == '\t')
+            if(TomlLexer.is(reader.peekChar(), TomlLexer.WHITESPACE) || reader.peekChar() == '\n')
                 reader.skipChar();
             else if(reader.peekChar() == '#'){
                 reader.skipChar();
@@ -335,7 +626,7 @@ public class TomlDeserializer {
         }
     }
 
-    private void skipLine(BufferedCharReader reader) throws IOException{
+    private void skipLine(TomlLexer reader) throws IOException{
         int character = reader.readChar();
         while(character != -1 && character != '\n'){
             character = reader.readChar();
@@ -344,12 +635,19 @@ public class TomlDeserializer {
 
     private void putKeyValue(String[] key, TomlElement value) throws MalformedTomlException{
         // Combine current table and key
-        String[] path = new String[this.currentTable.length + key.length];
-        System.arraycopy(this.currentTable, 0, path, 0, this.currentTable.length);
-        System.arraycopy(key, 0, path, this.currentTable.length, key.length);
+        this.consumer.accept(concat(this.currentTable, key), value);
+    }
+
+    private static String[] concat(String[] first, String[] second){
+        String[] path = new String[first.length + second.length];
+        System.arraycopy(first, 0, path, 0, first.length);
+        System.arraycopy(second, 0, path, first.length, second.length);
+        return path;
+    }
 
+    private static void putKeyValue(TomlTable table, String[] path, TomlElement value) throws MalformedTomlException{
         // Find/create the correct parent object
-        TomlTable object = this.contents;
+        TomlTable object = table;
         for(int i = 0; i < path.length - 1; i++){
             TomlElement member = object.get(path[i]);
             if(member == null){
@@ -362,7 +660,7 @@ public class TomlDeserializer {
                 throw new MalformedTomlException("Conflicting values '" + String.join(".", path) + "' and '" + String.join(".", Arrays.copyOfRange(path, 0, i + 1)) + "'!");
         }
 
-        // Get the comment and hint from the old element
+        // Check the key has not been defined before
         if(object.get(path[path.length - 1]) != null)
             throw new MalformedTomlException("Key defined twice '" + String.join(".", path) + "'!");
 
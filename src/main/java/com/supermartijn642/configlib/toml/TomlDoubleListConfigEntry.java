@@ -0,0 +1,48 @@
+package com.supermartijn642.configlib.toml;
+
+import com.supermartijn642.configlib.BaseDoubleListConfigEntry;
+import com.supermartijn642.configlib.api.DoubleListView;
+
+/**
+ * Created 17/10/2026 by agent
+ */
+public class TomlDoubleListConfigEntry extends BaseDoubleListConfigEntry<TomlElement> {
+
+    public TomlDoubleListConfigEntry(DoubleListView defaultValue, double minimum, double maximum, boolean shouldBeSynced, boolean requiresGameRestart, boolean isClientOnly, boolean isServerOnly, String comment){
+        super(defaultValue, minimum, maximum, shouldBeSynced, requiresGameRestart, isClientOnly, isServerOnly, comment);
+    }
+
+    @Override
+    public TomlElement serialize(DoubleListView value){
+        return TomlArray.of(value.toDoubleArray());
+    }
+
+    @Override
+    public DoubleListView deserialize(TomlElement serialized){
+        if(!serialized.isArray())
+            return null;
+        TomlArray array = serialized.getAsArray();
+        if(array.isDoubleArray())
+            return DoubleListView.of(array.getAsDoubleArray());
+        // Also accept integers and mixed arrays
+        double[] values = new double[array.size()];
+        for(int i = 0; i < values.length; i++){
+            if(array.isIntArray())
+                values[i] = array.getAsIntArray()[i];
+            else if(array.isLongArray())
+                values[i] = array.getAsLongArray()[i];
+            else{
+                TomlElement element = array.get(i);
+                if(element.isInteger())
+                    values[i] = element.getAsInteger();
+                else if(element.isLong())
+                    values[i] = element.getAsLong();
+                else if(element.isDouble())
+                    values[i] = element.getAsDouble();
+                else
+                    return null;
+            }
+        }
+        return DoubleListView.of(values);
+    }
+}
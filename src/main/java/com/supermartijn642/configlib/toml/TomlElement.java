@@ -16,6 +16,14 @@ public abstract class TomlElement {
         return (TomlTable)this;
     }
 
+    public final boolean isArray(){
+        return this instanceof TomlArray;
+    }
+
+    public final TomlArray getAsArray(){
+        return (TomlArray)this;
+    }
+
     public final boolean isEmpty(){
         return this instanceof Empty;
     }
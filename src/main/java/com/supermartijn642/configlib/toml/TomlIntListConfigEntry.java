@@ -0,0 +1,27 @@
+package com.supermartijn642.configlib.toml;
+
+import com.supermartijn642.configlib.BaseIntListConfigEntry;
+import com.supermartijn642.configlib.api.IntListView;
+
+/**
+ * Created 17/10/2026 by agent
+ */
+public class TomlIntListConfigEntry extends BaseIntListConfigEntry<TomlElement> {
+
+    public TomlIntListConfigEntry(IntListView defaultValue, int minimum, int maximum, boolean shouldBeSynced, boolean requiresGameRestart, boolean isClientOnly, boolean isServerOnly, String comment){
+        super(defaultValue, minimum, maximum, shouldBeSynced, requiresGameRestart, isClientOnly, isServerOnly, comment);
+    }
+
+    @Override
+    public TomlElement serialize(IntListView value){
+        return TomlArray.of(value.toIntArray());
+    }
+
+    @Override
+    public IntListView deserialize(TomlElement serialized){
+        if(!serialized.isArray())
+            return null;
+        TomlArray array = serialized.getAsArray();
+        return array.isIntArray() ? IntListView.of(array.getAsIntArray()) : array.size() == 0 ? IntListView.of() : null;
+    }
+}
@@ -0,0 +1,118 @@
+package com.supermartijn642.configlib.toml;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reads UTF-8 encoded toml byte by byte, whilst keeping track of the current line and column.
+ * Only ascii characters are structural in toml, hence multibyte characters only need to be decoded inside strings.
+ * Line endings are normalized to '\n'.
+ * <p>
+ * Created 17/10/2026 by agent
+ */
+public class TomlLexer {
+
+    public static final int BARE_KEY = 1, DIGIT = 2, HEX_DIGIT = 4, WHITESPACE = 8;
+    private static final byte[] CHARACTER_CLASSES = new byte[128];
+
+    static{
+        for(char c = 'A'; c <= 'Z'; c++)
+            CHARACTER_CLASSES[c] |= BARE_KEY;
+        for(char c = 'a'; c <= 'z'; c++)
+            CHARACTER_CLASSES[c] |= BARE_KEY;
+        for(char c = '0'; c <= '9'; c++)
+            CHARACTER_CLASSES[c] |= BARE_KEY | DIGIT | HEX_DIGIT;
+        for(char c = 'a'; c <= 'f'; c++)
+            CHARACTER_CLASSES[c] |= HEX_DIGIT;
+        for(char c = 'A'; c <= 'F'; c++)
+            CHARACTER_CLASSES[c] |= HEX_DIGIT;
+        CHARACTER_CLASSES['_'] |= BARE_KEY;
+        CHARACTER_CLASSES['-'] |= BARE_KEY;
+        CHARACTER_CLASSES[' '] |= WHITESPACE;
+        CHARACTER_CLASSES['\t'] |= WHITESPACE;
+    }
+
+    /**
+     * Checks whether the given character belongs to any of the given character classes
+     */
+    public static boolean is(int character, int characterClass){
+        return character >= 0 && character < 128 && (CHARACTER_CLASSES[character] & characterClass) != 0;
+    }
+
+    private final ByteBuffer buffer;
+    private int lineIndex = 1, charIndex = 0;
+
+    public TomlLexer(ByteBuffer buffer){
+        this.buffer = buffer;
+
+        // Skip the byte order mark
+        if(this.matches("\u00EF\u00BB\u00BF"))
+            this.buffer.position(this.buffer.position() + 3);
+    }
+
+    public int getLineIndex(){
+        return this.lineIndex;
+    }
+
+    public int getCharIndex(){
+        return this.charIndex;
+    }
+
+    /**
+     * @return the next byte as an unsigned value or -1 if the end of the input has been reached
+     */
+    public int peekChar(){
+        int position = this.buffer.position();
+        if(position >= this.buffer.limit())
+            return -1;
+
+        int character = this.buffer.get(position) & 0xFF;
+        if(character == '\r'){
+            // Turn '\r\n' and '\r' into '\n'
+            if(position + 1 < this.buffer.limit() && this.buffer.get(position + 1) == '\n')
+                this.buffer.position(position + 1);
+            return '\n';
+        }
+        return character;
+    }
+
+    public int readChar(){
+        int character = this.peekChar();
+        if(character == -1)
+            return -1;
+
+        this.buffer.position(this.buffer.position() + 1);
+        if(character == '\n'){
+            this.lineIndex++;
+            this.charIndex = 0;
+        }else
+            this.charIndex++;
+        return character;
+    }
+
+    public void skipChar(){
+        this.readChar();
+    }
+
+    public void skipChars(int length){
+        for(int i = 0; i < length; i++){
+            if(this.readChar() == -1)
+                break;
+        }
+    }
+
+    /**
+     * Checks whether the upcoming bytes match the given characters, without consuming them.
+     * Characters are compared against single bytes.
+     */
+    public boolean matches(String characters){
+        int position = this.buffer.position();
+        if(this.buffer.limit() - position < characters.length())
+            return false;
+
+        for(int i = 0; i < characters.length(); i++){
+            if((this.buffer.get(position + i) & 0xFF) != characters.charAt(i))
+                return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,35 @@
+package com.supermartijn642.configlib.toml;
+
+import com.supermartijn642.configlib.BaseLongListConfigEntry;
+import com.supermartijn642.configlib.api.LongListView;
+
+/**
+ * Created 17/10/2026 by agent
+ */
+public class TomlLongListConfigEntry extends BaseLongListConfigEntry<TomlElement> {
+
+    public TomlLongListConfigEntry(LongListView defaultValue, long minimum, long maximum, boolean shouldBeSynced, boolean requiresGameRestart, boolean isClientOnly, boolean isServerOnly, String comment){
+        super(defaultValue, minimum, maximum, shouldBeSynced, requiresGameRestart, isClientOnly, isServerOnly, comment);
+    }
+
+    @Override
+    public TomlElement serialize(LongListView value){
+        return TomlArray.of(value.toLongArray());
+    }
+
+    @Override
+    public LongListView deserialize(TomlElement serialized){
+        if(!serialized.isArray())
+            return null;
+        TomlArray array = serialized.getAsArray();
+        if(array.isLongArray())
+            return LongListView.of(array.getAsLongArray());
+        if(array.isIntArray()){
+            long[] values = new long[array.size()];
+            for(int i = 0; i < values.length; i++)
+                values[i] = array.getAsIntArray()[i];
+            return LongListView.of(values);
+        }
+        return array.size() == 0 ? LongListView.of() : null;
+    }
+}
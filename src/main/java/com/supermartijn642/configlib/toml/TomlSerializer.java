@@ -1,107 +1,399 @@
 package com.supermartijn642.configlib.toml;
 
-import com.google.common.base.Strings;
-
-import java.io.BufferedWriter;
-import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
 /**
+ * Writes toml as UTF-8 encoded bytes into a buffer which is reused between calls on the same thread.
+ * <p>
  * Created 09/04/2022 by SuperMartijn642
  */
 public class TomlSerializer {
 
-    protected static void writeTomlTable(BufferedWriter write, TomlTable object) throws IOException{
-        // First write non-table elements
-        for(Map.Entry<String,TomlElement> element : object.entrySet()){
-            if(!element.getValue().isTable()){
-                // Check if the key contains any spaces
-                String elementKey = element.getKey();
-                if(elementKey.contains(" "))
-                    elementKey = '"' + elementKey + '"';
-                // Write the element
-                writeElement(write, 0, elementKey, element.getValue());
-            }
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final double MAX_EXACT_MANTISSA = 1L << 53;
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+    private static final byte[] INDENTATION = new byte[64];
+    private static final byte[] HEX_DIGITS = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+    /**
+     * Buffers larger than this are not kept after writing
+     */
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+    private static final ThreadLocal<TomlSerializer> SERIALIZERS = ThreadLocal.withInitial(TomlSerializer::new);
+
+    static{
+        Arrays.fill(INDENTATION, (byte)' ');
+    }
+
+    /**
+     * Writes the given table to a new byte array
+     */
+    public static byte[] writeTomlTable(TomlTable table){
+        TomlSerializer serializer = SERIALIZERS.get();
+        try{
+            serializer.writeFile(table);
+            return Arrays.copyOf(serializer.buffer, serializer.length);
+        }finally{
+            serializer.reset();
+        }
+    }
+
+    private byte[] buffer = new byte[8192];
+    private int length;
+    /**
+     * Tables which still need to be written after the values of their parent table, shared by all nesting levels
+     */
+    private final List<Map.Entry<String,TomlElement>> pendingTables = new ArrayList<>();
+    private final List<String> tablePath = new ArrayList<>();
+
+    private TomlSerializer(){
+    }
+
+    private void reset(){
+        this.length = 0;
+        this.pendingTables.clear();
+        this.tablePath.clear();
+        if(this.buffer.length > MAX_RETAINED_BUFFER_SIZE)
+            this.buffer = new byte[8192];
+    }
+
+    private void writeFile(TomlTable table){
+        this.writeTableContents(table, 0);
+    }
+
+    /**
+     * Writes all values of the given table, followed by all sub-tables
+     */
+    private void writeTableContents(TomlTable table, int indentation){
+        // Write non-table elements, whilst collecting the tables
+        int firstTable = this.pendingTables.size();
+        for(Map.Entry<String,TomlElement> element : table.entrySet()){
+            if(element.getValue().isTable())
+                this.pendingTables.add(element);
+            else
+                this.writeElement(indentation, element.getKey(), element.getValue());
         }
+
         // Write tables
-        for(Map.Entry<String,TomlElement> element : object.entrySet()){
-            if(element.getValue().isTable()){
-                // Check if the key contains any spaces
-                String elementKey = element.getKey();
-                if(elementKey.contains(" "))
-                    elementKey = '"' + elementKey + '"';
-                // Write the element
-                writeElement(write, 0, elementKey, element.getValue());
-            }
+        int lastTable = this.pendingTables.size();
+        for(int i = firstTable; i < lastTable; i++){
+            Map.Entry<String,TomlElement> element = this.pendingTables.get(i);
+            this.tablePath.add(element.getKey());
+            this.writeTable(indentation, element.getValue());
+            this.tablePath.remove(this.tablePath.size() - 1);
         }
+        this.pendingTables.subList(firstTable, lastTable).clear();
     }
 
-    private static void writeElement(BufferedWriter writer, int indentation, String key, TomlElement element) throws IOException{
+    private void writeElement(int indentation, String key, TomlElement element){
         // Write comments
-        if(element.comment != null)
-            comment(writer, indentation, element.comment.replace("\n", "\n#"));
-        if(element.valueHint != null)
-            comment(writer, indentation, element.valueHint);
+        this.writeComments(indentation, element);
 
         // Write per element type
-        if(element.isEmpty()){
-            // Skip
-        }else if(element.isTable())
-            writeTable(writer, indentation, key, element.getAsTable());
-        else if(element.isInteger())
-            writeValue(writer, indentation, key, Integer.toString(element.getAsInteger()));
+        if(!element.isEmpty()){
+            this.writeIndentation(indentation);
+            this.writeKey(key);
+            this.writeAscii(" = ");
+            this.writeValue(element);
+            this.writeNewLine();
+        }
+
+        // Add a new line for spacing
+        this.writeNewLine();
+    }
+
+    private void writeTable(int indentation, TomlElement table){
+        // Write comments
+        this.writeComments(indentation, table);
+
+        // Write table header
+        this.writeIndentation(indentation);
+        this.writeByte('[');
+        for(int i = 0; i < this.tablePath.size(); i++){
+            if(i > 0)
+                this.writeByte('.');
+            this.writeKey(this.tablePath.get(i));
+        }
+        this.writeByte(']');
+        this.writeNewLine();
+
+        this.writeTableContents(table.getAsTable(), indentation + 1);
+    }
+
+    private void writeComments(int indentation, TomlElement element){
+        if(element.comment != null){
+            this.writeIndentation(indentation);
+            this.writeAscii("# ");
+            // Continue multi-line comments with '#'
+            String comment = element.comment;
+            int start = 0;
+            for(int i = comment.indexOf('\n'); i >= 0; i = comment.indexOf('\n', start)){
+                this.writeUtf8(comment, start, i);
+                this.writeNewLine();
+                this.writeByte('#');
+                start = i + 1;
+            }
+            this.writeUtf8(comment, start, comment.length());
+            this.writeNewLine();
+        }
+        if(element.valueHint != null){
+            this.writeIndentation(indentation);
+            this.writeAscii("# ");
+            this.writeUtf8(element.valueHint, 0, element.valueHint.length());
+            this.writeNewLine();
+        }
+    }
+
+    private void writeValue(TomlElement element){
+        if(element.isInteger())
+            this.writeLong(element.getAsInteger());
         else if(element.isDouble())
-            writeValue(writer, indentation, key, Double.toString(element.getAsDouble()));
+            this.writeDouble(element.getAsDouble());
         else if(element.isLong())
-            writeValue(writer, indentation, key, Long.toString(element.getAsLong()));
+            this.writeLong(element.getAsLong());
         else if(element.isBoolean())
-            writeValue(writer, indentation, key, Boolean.toString(element.getAsBoolean()));
+            this.writeAscii(element.getAsBoolean() ? "true" : "false");
         else if(element.isString())
-            writeValue(writer, indentation, key, "\"" + element.getAsString() + "\"");
+            this.writeString(element.getAsString());
+        else if(element.isArray()){
+            TomlArray array = element.getAsArray();
+            this.writeByte('[');
+            for(int i = 0; i < array.size(); i++){
+                if(i > 0)
+                    this.writeAscii(", ");
+                if(array.isIntArray())
+                    this.writeLong(array.getAsIntArray()[i]);
+                else if(array.isLongArray())
+                    this.writeLong(array.getAsLongArray()[i]);
+                else if(array.isDoubleArray())
+                    this.writeDouble(array.getAsDoubleArray()[i]);
+                else
+                    this.writeValue(array.get(i));
+            }
+            this.writeByte(']');
+        }else if(element.isTable()){
+            // Tables inside arrays are written as inline tables
+            this.writeByte('{');
+            boolean first = true;
+            for(Map.Entry<String,TomlElement> entry : element.getAsTable().entrySet()){
+                if(entry.getValue().isEmpty())
+                    continue;
+                this.writeAscii(first ? " " : ", ");
+                first = false;
+                this.writeKey(entry.getKey());
+                this.writeAscii(" = ");
+                this.writeValue(entry.getValue());
+            }
+            this.writeAscii(first ? "}" : " }");
+        }
+    }
 
-        // Add a new line for spacing
-        if(!element.isTable())
-            writer.newLine();
+    /**
+     * Writes the key as a bare key if possible and as a quoted key otherwise
+     */
+    private void writeKey(String key){
+        for(int i = 0; i < key.length(); i++){
+            if(!TomlLexer.is(key.charAt(i), TomlLexer.BARE_KEY)){
+                this.writeString(key);
+                return;
+            }
+        }
+        if(key.isEmpty())
+            this.writeString(key);
+        else
+            this.writeAscii(key);
     }
 
-    private static void writeTable(BufferedWriter writer, int indentation, String key, TomlTable object) throws IOException{
-        // Write table header
-        indentation(writer, indentation);
-        writer.append("[").append(key).append("]");
-        writer.newLine();
-
-        // Write non-table entries
-        for(Map.Entry<String,TomlElement> element : object.entrySet())
-            if(!element.getValue().isTable())
-                writeElement(writer, indentation + 1, element.getKey(), element.getValue());
-        // Write table entries
-        for(Map.Entry<String,TomlElement> element : object.entrySet())
-            if(element.getValue().isTable()){
-                // Check if the key contains any spaces
-                String elementKey = element.getKey();
-                if(elementKey.contains(" "))
-                    elementKey = '"' + elementKey + '"';
-                // Write the element
-                writeElement(writer, indentation + 1, key + "." + elementKey, element.getValue());
+    /**
+     * Writes a basic string, escaping characters in place
+     */
+    private void writeString(String value){
+        this.ensureCapacity(value.length() + 2);
+        this.buffer[this.length++] = '"';
+        for(int i = 0; i < value.length(); i++){
+            char character = value.charAt(i);
+            if(character == '"' || character == '\\'){
+                this.writeByte('\\');
+                this.writeByte(character);
+            }else if(character == '\n')
+                this.writeAscii("\\n");
+            else if(character == '\t')
+                this.writeAscii("\\t");
+            else if(character == '\r')
+                this.writeAscii("\\r");
+            else if(character < 0x20 || character == 0x7F){
+                this.writeAscii("\\u00");
+                this.writeByte(HEX_DIGITS[character >> 4]);
+                this.writeByte(HEX_DIGITS[character & 0xF]);
+            }else
+                i = this.writeUtf8Char(value, i);
+        }
+        this.writeByte('"');
+    }
+
+    private void writeUtf8(String value, int start, int end){
+        this.ensureCapacity(end - start);
+        for(int i = start; i < end; i++)
+            i = this.writeUtf8Char(value, i);
+    }
+
+    /**
+     * Writes the character at the given index as UTF-8
+     * @return the index of the last char which was written
+     */
+    private int writeUtf8Char(String value, int index){
+        char character = value.charAt(index);
+        if(character < 0x80){
+            this.writeByte(character);
+            return index;
+        }
+        if(character < 0x800){
+            this.writeByte(0xC0 | (character >> 6));
+            this.writeByte(0x80 | (character & 0x3F));
+            return index;
+        }
+        if(Character.isHighSurrogate(character) && index + 1 < value.length() && Character.isLowSurrogate(value.charAt(index + 1))){
+            int codePoint = Character.toCodePoint(character, value.charAt(index + 1));
+            this.writeByte(0xF0 | (codePoint >> 18));
+            this.writeByte(0x80 | ((codePoint >> 12) & 0x3F));
+            this.writeByte(0x80 | ((codePoint >> 6) & 0x3F));
+            this.writeByte(0x80 | (codePoint & 0x3F));
+            return index + 1;
+        }
+        // Replace unpaired surrogates
+        if(Character.isSurrogate(character))
+            character = '\uFFFD';
+        this.writeByte(0xE0 | (character >> 12));
+        this.writeByte(0x80 | ((character >> 6) & 0x3F));
+        this.writeByte(0x80 | (character & 0x3F));
+        return index;
+    }
+
+    private void writeLong(long value){
+        if(value == Long.MIN_VALUE){
+            this.writeAscii(Long.toString(value));
+            return;
+        }
+
+        this.ensureCapacity(20);
+        if(value < 0){
+            this.buffer[this.length++] = '-';
+            value = -value;
+        }
+        // Write the digits from right to left
+        int digits = 1;
+        for(long remaining = value / 10; remaining > 0; remaining /= 10)
+            digits++;
+        int position = this.length + digits;
+        do{
+            this.buffer[--position] = (byte)('0' + value % 10);
+            value /= 10;
+        }while(value > 0);
+        this.length += digits;
+    }
+
+    /**
+     * Writes a double with the fewest decimals which still read back as the same value.
+     * Values are tried as {@code m / 10^s} for increasing {@code s}, where both {@code m} and {@code 10^s} are exactly
+     * representable, such that the division is correctly rounded and thus equal to how the value is read.
+     * Values which cannot be written like that fall back to {@link Double#toString(double)}.
+     */
+    private void writeDouble(double value){
+        if(Double.isNaN(value)){
+            this.writeAscii("nan");
+            return;
+        }
+        if(Double.isInfinite(value)){
+            this.writeAscii(value > 0 ? "inf" : "-inf");
+            return;
+        }
+        if(value == 0){
+            this.writeAscii(Double.doubleToRawLongBits(value) < 0 ? "-0.0" : "0.0");
+            return;
+        }
+
+        double magnitude = Math.abs(value);
+        if(magnitude >= 1e-3 && magnitude < MAX_EXACT_MANTISSA){
+            for(int scale = 0; scale < POWERS_OF_TEN.length; scale++){
+                double mantissa = Math.rint(magnitude * POWERS_OF_TEN[scale]);
+                if(mantissa >= MAX_EXACT_MANTISSA)
+                    break;
+                if(mantissa / POWERS_OF_TEN[scale] == magnitude){
+                    this.writeDecimal(value < 0, (long)mantissa, scale);
+                    return;
+                }
             }
+        }
+        this.writeAscii(Double.toString(value));
+    }
+
+    private void writeDecimal(boolean negative, long mantissa, int scale){
+        if(negative)
+            this.writeByte('-');
+        if(scale == 0){
+            this.writeLong(mantissa);
+            this.writeAscii(".0");
+            return;
+        }
+
+        // Write the digits and then move the fraction to make room for the decimal point
+        int start = this.length;
+        this.writeLong(mantissa);
+        // Pad with zeros, such that there is at least one digit before the decimal point
+        int digits = this.length - start;
+        if(digits <= scale){
+            int padding = scale + 1 - digits;
+            this.ensureCapacity(padding);
+            System.arraycopy(this.buffer, start, this.buffer, start + padding, digits);
+            Arrays.fill(this.buffer, start, start + padding, (byte)'0');
+            this.length += padding;
+        }
+        this.ensureCapacity(1);
+        int point = this.length - scale;
+        System.arraycopy(this.buffer, point, this.buffer, point + 1, scale);
+        this.buffer[point] = '.';
+        this.length++;
+    }
+
+    private void writeIndentation(int indentation){
+        int spaces = indentation * 4;
+        this.ensureCapacity(spaces);
+        while(spaces > 0){
+            int count = Math.min(spaces, INDENTATION.length);
+            System.arraycopy(INDENTATION, 0, this.buffer, this.length, count);
+            this.length += count;
+            spaces -= count;
+        }
+    }
+
+    private void writeNewLine(){
+        this.ensureCapacity(LINE_SEPARATOR.length);
+        System.arraycopy(LINE_SEPARATOR, 0, this.buffer, this.length, LINE_SEPARATOR.length);
+        this.length += LINE_SEPARATOR.length;
     }
 
-    private static void writeValue(BufferedWriter writer, int indentation, String key, String valueSerialized) throws IOException{
-        indentation(writer, indentation);
-        writer.write(key);
-        writer.write(" = ");
-        writer.write(valueSerialized);
-        writer.newLine();
+    /**
+     * Writes a string which only contains ascii characters
+     */
+    private void writeAscii(String value){
+        this.ensureCapacity(value.length());
+        for(int i = 0; i < value.length(); i++)
+            this.buffer[this.length++] = (byte)value.charAt(i);
     }
 
-    private static void indentation(BufferedWriter writer, int indentation) throws IOException{
-        writer.write(Strings.repeat("    ", indentation));
+    private void writeByte(int value){
+        this.ensureCapacity(1);
+        this.buffer[this.length++] = (byte)value;
     }
 
-    private static void comment(BufferedWriter writer, int indentation, String comment) throws IOException{
-        indentation(writer, indentation);
-        writer.write("# ");
-        writer.write(comment);
-        writer.newLine();
+    private void ensureCapacity(int additional){
+        if(this.length + additional > this.buffer.length)
+            this.buffer = Arrays.copyOf(this.buffer, Math.max(this.buffer.length * 2, this.length + additional));
     }
 }
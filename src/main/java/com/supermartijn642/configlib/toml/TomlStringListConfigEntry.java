@@ -0,0 +1,40 @@
+package com.supermartijn642.configlib.toml;
+
+import com.supermartijn642.configlib.BaseStringListConfigEntry;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Created 17/10/2026 by agent
+ */
+public class TomlStringListConfigEntry extends BaseStringListConfigEntry<TomlElement> {
+
+    public TomlStringListConfigEntry(List<String> defaultValue, int minLength, int maxLength, boolean shouldBeSynced, boolean requiresGameRestart, boolean isClientOnly, boolean isServerOnly, String comment){
+        super(defaultValue, minLength, maxLength, shouldBeSynced, requiresGameRestart, isClientOnly, isServerOnly, comment);
+    }
+
+    @Override
+    public TomlElement serialize(List<String> value){
+        TomlElement[] elements = new TomlElement[value.size()];
+        for(int i = 0; i < elements.length; i++)
+            elements[i] = TomlPrimitive.of(value.get(i));
+        return TomlArray.of(elements);
+    }
+
+    @Override
+    public List<String> deserialize(TomlElement serialized){
+        if(!serialized.isArray())
+            return null;
+        TomlArray array = serialized.getAsArray();
+        String[] values = new String[array.size()];
+        for(int i = 0; i < values.length; i++){
+            TomlElement element = array.get(i);
+            if(!element.isString())
+                return null;
+            values[i] = element.getAsString();
+        }
+        return Collections.unmodifiableList(Arrays.asList(values));
+    }
+}
@@ -0,0 +1,15 @@
+package com.supermartijn642.configlib.toml;
+
+/**
+ * Receives the values from {@link TomlDeserializer#readTomlValues(java.nio.ByteBuffer, TomlValueConsumer)} in the order they appear in the document.
+ * <p>
+ * Created 17/10/2026 by agent
+ */
+public interface TomlValueConsumer {
+
+    /**
+     * @param path  full path of the value, including the enclosing table headers
+     * @param value the value
+     */
+    void accept(String[] path, TomlElement value) throws MalformedTomlException;
+}
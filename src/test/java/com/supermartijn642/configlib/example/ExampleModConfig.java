@@ -3,6 +3,9 @@ package com.supermartijn642.configlib.example;
 import com.supermartijn642.configlib.api.ConfigBuilders;
 import com.supermartijn642.configlib.api.IConfigBuilder;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntSupplier;
 import java.util.function.Supplier;
 
 /**
@@ -18,6 +21,8 @@ public class ExampleModConfig {
     public static final Supplier<Integer> integerValue;
     public static final Supplier<Double> doubleValue;
     public static final Supplier<ExampleEnum> enumValue;
+    public static final IntSupplier primitiveIntegerValue;
+    public static final Supplier<List<String>> stringListValue;
 
     public static final Supplier<Boolean> notReloadedValue;
     public static final Supplier<Boolean> notSynchronizedValue;
@@ -37,6 +42,10 @@ public class ExampleModConfig {
         doubleValue = builder.comment("this is a double value between 0.0 and 1.0").define("doubleValue", 0.5, 0, 1);
         // an enum value
         enumValue = builder.comment("this is an enum value of type ExampleEnum").define("enumValue", ExampleEnum.DOGS);
+        // values can also be defined as primitives, these avoid boxing when they are read often
+        primitiveIntegerValue = builder.comment("this is an integer value which is read without boxing").defineInt("primitiveIntegerValue", 5, 0, 10);
+        // lists are stored as arrays in the config file
+        stringListValue = builder.comment("this is a list of strings").defineStringList("stringListValue", Arrays.asList("first", "second"), 1, 20);
 
 
         // values are reloaded between world loads by default, to only load a value at launch use ModConfigBuilder#gameRestart()